@@ -12,4 +12,8 @@ public class Logger {
             logger.info(String.format(s, objects));
         }
     }
+
+    public static void error(String s, Throwable throwable) {
+        logger.error(s, throwable);
+    }
 }
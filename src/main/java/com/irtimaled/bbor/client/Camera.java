@@ -4,20 +4,26 @@ import net.minecraft.client.Minecraft;
 import net.minecraft.util.math.Vec3d;
 
 public class Camera {
-    private static Vec3d getPos() {
-        return Minecraft.getInstance().gameRenderer.getActiveRenderInfo().getProjectedView();
+    private static double x;
+    private static double y;
+    private static double z;
+
+    public static void update() {
+        Vec3d pos = Minecraft.getInstance().gameRenderer.getActiveRenderInfo().getProjectedView();
+        x = pos.x;
+        y = pos.y;
+        z = pos.z;
     }
 
     public static double getX() {
-        return getPos().x;
+        return x;
     }
 
     public static double getY() {
-        return getPos().y;
+        return y;
     }
 
     public static double getZ() {
-        return getPos().z;
+        return z;
     }
 }
-
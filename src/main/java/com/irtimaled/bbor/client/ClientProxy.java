@@ -36,6 +36,7 @@ public class ClientProxy extends CommonProxy {
         EventBus.subscribe(AddBoundingBoxReceived.class, this::addBoundingBox);
         EventBus.subscribe(UpdateWorldSpawnReceived.class, this::onUpdateWorldSpawnReceived);
         EventBus.subscribe(SaveLoaded.class, e -> clear());
+        EventBus.subscribe(ChunkSectionsChanged.class, ClientRenderer::invalidate);
 
         ClientRenderer.registerProvider(new CacheProvider(this::getCache));
 
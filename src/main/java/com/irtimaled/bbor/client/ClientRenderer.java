@@ -1,5 +1,6 @@
 package com.irtimaled.bbor.client;
 
+import com.irtimaled.bbor.client.events.ChunkSectionsChanged;
 import com.irtimaled.bbor.client.interop.ClientInterop;
 import com.irtimaled.bbor.client.models.*;
 import com.irtimaled.bbor.client.providers.*;
@@ -11,7 +12,6 @@ import com.irtimaled.bbor.common.models.BoundingBoxCuboid;
 import com.irtimaled.bbor.common.models.DimensionId;
 
 import java.util.*;
-import java.util.stream.Stream;
 
 public class ClientRenderer {
     private static final int CHUNK_SIZE = 16;
@@ -19,6 +19,7 @@ public class ClientRenderer {
 
     private static boolean active;
     private static final Set<IBoundingBoxProvider> providers = new HashSet<>();
+    private static AbstractBoundingBox[] boundingBoxes = new AbstractBoundingBox[1024];
 
     public static boolean getActive() {
         return active;
@@ -37,18 +38,20 @@ public class ClientRenderer {
 
     static {
         registerRenderer(BoundingBoxSlimeChunk.class, new SlimeChunkRenderer());
+        registerRenderer(BoundingBoxSlimeChunkWall.class, new SlimeChunkWallRenderer());
         registerRenderer(BoundingBoxWorldSpawn.class, new WorldSpawnRenderer());
         registerRenderer(BoundingBoxCuboid.class, new CuboidRenderer());
         registerRenderer(BoundingBoxMobSpawner.class, new MobSpawnerRenderer());
         registerRenderer(BoundingBoxSpawningSphere.class, new SpawningSphereRenderer());
         registerRenderer(BoundingBoxBeacon.class, new BeaconRenderer());
-        registerRenderer(BoundingBoxBiomeBorder.class, new BiomeBorderRenderer());
+        registerRenderer(BoundingBoxBiomeBorderStrip.class, new BiomeBorderRenderer());
         registerRenderer(BoundingBoxConduit.class, new ConduitRenderer());
         registerRenderer(BoundingBoxSpawnableBlocks.class, new SpawnableBlocksRenderer());
         registerRenderer(BoundingBoxLine.class, new LineRenderer());
         registerRenderer(BoundingBoxSphere.class, new SphereRenderer());
         registerRenderer(BoundingBoxFlowerForest.class, new FlowerForestRenderer());
         registerRenderer(BoundingBoxBedrockCeiling.class, new CuboidRenderer());
+        registerRenderer(BoundingBoxStructureRegion.class, new StructureRegionRenderer());
 
         registerProvider(new SlimeChunkProvider());
         registerProvider(new WorldSpawnProvider());
@@ -84,35 +87,48 @@ public class ClientRenderer {
         return boundingBox.intersectsBounds(minX, minZ, maxX, maxZ);
     }
 
+    private static boolean isVisible(AbstractBoundingBox boundingBox) {
+        AbstractRenderer renderer = boundingBoxRendererMap.get(boundingBox.getClass());
+        return renderer != null && renderer.isVisible(boundingBox);
+    }
+
     public static void render(DimensionId dimensionId) {
         if (!active) return;
 
+        Camera.update();
         RenderHelper.beforeRender();
+        FrustumCuller.update();
 
-        getBoundingBoxes(dimensionId).forEach(key -> {
-            AbstractRenderer renderer = boundingBoxRendererMap.get(key.getClass());
-            if (renderer != null) renderer.render(key);
-        });
+        int count = getBoundingBoxes(dimensionId);
+        for (int index = 0; index < count; index++) {
+            render(boundingBoxes[index]);
+        }
+        Arrays.fill(boundingBoxes, 0, count, null);
 
+        RenderBatch.flush();
         RenderHelper.afterRender();
     }
 
-    public static Stream<AbstractBoundingBox> getBoundingBoxes(DimensionId dimensionId) {
-        Stream.Builder<AbstractBoundingBox> boundingBoxes = Stream.builder();
+    private static void render(AbstractBoundingBox boundingBox) {
+        AbstractRenderer renderer = boundingBoxRendererMap.get(boundingBox.getClass());
+        if (renderer != null) renderer.render(boundingBox);
+    }
+
+    private static int getBoundingBoxes(DimensionId dimensionId) {
+        int count = 0;
         for (IBoundingBoxProvider<?> provider : providers) {
             if (provider.canProvide(dimensionId)) {
                 for (AbstractBoundingBox boundingBox : provider.get(dimensionId)) {
-                    if (isWithinRenderDistance(boundingBox)) {
-                        boundingBoxes.accept(boundingBox);
+                    if (isWithinRenderDistance(boundingBox) && isVisible(boundingBox)) {
+                        if (count == boundingBoxes.length) {
+                            boundingBoxes = Arrays.copyOf(boundingBoxes, count * 2);
+                        }
+                        boundingBoxes[count++] = boundingBox;
                     }
                 }
             }
         }
-
-        Point point = Player.getPoint();
-        return boundingBoxes.build()
-                .sorted(Comparator
-                        .comparingDouble((AbstractBoundingBox boundingBox) -> boundingBox.getDistance(point.getX(), point.getY(), point.getZ())).reversed());
+        return count;
     }
 
     public static void clear() {
@@ -120,4 +136,10 @@ public class ClientRenderer {
             TypeHelper.doIfType(provider, ICachingProvider.class, ICachingProvider::clearCache);
         }
     }
+
+    public static void invalidate(ChunkSectionsChanged event) {
+        for (IBoundingBoxProvider<?> provider : providers) {
+            TypeHelper.doIfType(provider, ICachingProvider.class, cachingProvider -> cachingProvider.invalidate(event));
+        }
+    }
 }
@@ -0,0 +1,92 @@
+package com.irtimaled.bbor.client.commands;
+
+import com.irtimaled.bbor.Logger;
+import com.irtimaled.bbor.client.Player;
+import com.irtimaled.bbor.client.models.Point;
+import com.irtimaled.bbor.client.providers.SlimeChunkFinder;
+import com.irtimaled.bbor.client.providers.SlimeChunkProvider;
+import com.irtimaled.bbor.client.providers.SpawningSphereProvider;
+import com.irtimaled.bbor.common.MathHelper;
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import net.minecraft.client.Minecraft;
+import net.minecraft.command.CommandSource;
+import net.minecraft.command.Commands;
+import net.minecraft.command.ISuggestionProvider;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class SlimeFinderCommand {
+    private static final String COMMAND = "bbor:slimefinder";
+    private static final String RADIUS = "radius";
+    private static final String COUNT = "count";
+    private static final String SPHERE = "sphere";
+    private static final int DEFAULT_COUNT = 5;
+
+    private static final AtomicBoolean searching = new AtomicBoolean();
+
+    public static void register(CommandDispatcher<ISuggestionProvider> commandDispatcher) {
+        LiteralArgumentBuilder command = Commands.literal(COMMAND)
+                .then(Commands.argument(RADIUS, Arguments.integer(16, 100000))
+                        .then(Commands.argument(COUNT, Arguments.integer(1, 20))
+                                .then(Commands.literal(SPHERE)
+                                        .executes(context -> search(context, true)))
+                                .executes(context -> search(context, false)))
+                        .executes(context -> search(context, false)));
+        commandDispatcher.register(command);
+    }
+
+    private static int search(CommandContext<CommandSource> context, boolean setSphere) throws CommandSyntaxException {
+        Long seed = SlimeChunkProvider.getSeed();
+        if (seed == null) {
+            CommandHelper.feedback(context, "bbor.commands.slimeFinder.noSeed");
+            return 0;
+        }
+        if (!searching.compareAndSet(false, true)) {
+            CommandHelper.feedback(context, "bbor.commands.slimeFinder.busy");
+            return 0;
+        }
+
+        int radius = Arguments.getInteger(context, RADIUS);
+        int count = Arguments.getInteger(context, COUNT);
+        if (count == 0) count = DEFAULT_COUNT;
+        int resultCount = count;
+        int playerChunkX = MathHelper.floor(Player.getX() / 16d);
+        int playerChunkZ = MathHelper.floor(Player.getZ() / 16d);
+        double playerY = Player.getY();
+
+        CommandHelper.feedback(context, "bbor.commands.slimeFinder.searching", radius);
+        SlimeChunkFinder.findAsync(seed, playerChunkX, playerChunkZ, radius >> 4, resultCount)
+                .whenComplete((results, exception) -> Minecraft.getInstance().execute(() -> {
+                    searching.set(false);
+                    if (exception != null) {
+                        Logger.error("Slime chunk search failed", exception);
+                        CommandHelper.feedback(context, "bbor.commands.slimeFinder.failed");
+                        return;
+                    }
+                    report(context, results, setSphere, playerY);
+                }));
+        return 0;
+    }
+
+    private static void report(CommandContext<CommandSource> context, List<SlimeChunkFinder.Candidate> results, boolean setSphere, double playerY) {
+        if (results.isEmpty()) {
+            CommandHelper.feedback(context, "bbor.commands.slimeFinder.none");
+            return;
+        }
+
+        for (int index = 0; index < results.size(); index++) {
+            SlimeChunkFinder.Candidate result = results.get(index);
+            CommandHelper.feedback(context, "bbor.commands.slimeFinder.result", index + 1, result.getX(), result.getZ(), result.getCount());
+        }
+
+        if (setSphere) {
+            SlimeChunkFinder.Candidate winner = results.get(0);
+            SpawningSphereProvider.setSphere(new Point(winner.getX(), playerY, winner.getZ()).snapXZ(0.5d));
+            CommandHelper.feedback(context, "bbor.commands.spawningSphere.set");
+        }
+    }
+}
@@ -20,6 +20,7 @@ public class ConfigManager {
     public static Setting<Boolean> alwaysVisible;
     public static Setting<Boolean> drawSlimeChunks;
     public static Setting<Integer> slimeChunkMaxY;
+    public static Setting<Boolean> mergeSlimeChunks;
     public static Setting<Boolean> keepCacheBetweenSessions;
     public static Setting<Boolean> drawWorldSpawn;
     public static Setting<Integer> worldSpawnMaxY;
@@ -51,11 +52,13 @@ public class ConfigManager {
     public static Setting<Boolean> drawSpawnableBlocks;
     public static Setting<Integer> spawnableBlocksRenderWidth;
     public static Setting<Integer> spawnableBlocksRenderHeight;
+    public static Setting<Boolean> mergeSpawnableBlocks;
     public static Setting<Boolean> invertBoxColorPlayerInside;
     public static Setting<Boolean> renderSphereAsDots;
     public static Setting<Boolean> drawFlowerForests;
     public static Setting<Integer> flowerForestsRenderDistance;
     public static Setting<Boolean> drawBedrockCeilingBlocks;
+    public static Setting<Integer> bedrockCeilingCacheDistance;
 
     public static Setting<HexColor> colorWorldSpawn;
     public static Setting<HexColor> colorLazySpawnChunks;
@@ -132,6 +135,7 @@ public class ConfigManager {
         flowerForestsRenderDistance = setup(config, "flowerForests", "flowerForestsRenderDistance", 3, "The distance from the player where flower forests will be drawn.");
 
         drawBedrockCeilingBlocks = setup(config, "bedrockCeiling", "drawBedrockCeilingBlocks", true, "If set to true position with only one layer of bedrock will be drawn.");
+        bedrockCeilingCacheDistance = setup(config, "bedrockCeiling", "bedrockCeilingCacheDistance", 16, "The distance in chunks from the player within which bedrock ceiling results are kept.");
 
         drawVillages = setup(config, "structures", "drawVillages", false, "If set to true village bounding boxes will be drawn.");
         drawDesertTemples = setup(config, "structures", "drawDesertTemples", true, "If set to true desert temple bounding boxes are drawn.");
@@ -154,6 +158,7 @@ public class ConfigManager {
 
         drawSlimeChunks = setup(config, "slimeChunks", "drawSlimeChunks", true, "If set to true slime chunks bounding boxes are drawn.");
         slimeChunkMaxY = setup(config, "slimeChunks", "slimeChunkMaxY", -1, "The maximum top of the slime chunk bounding box. If set to -1 it will use the value when activated, if set to 0 it will always track the player's feet.");
+        mergeSlimeChunks = setup(config, "slimeChunks", "mergeSlimeChunks", false, "If set to true adjacent slime chunks will be drawn as merged outlines showing only their outer walls.");
 
         drawWorldSpawn = setup(config, "worldSpawn", "drawWorldSpawn", true, "If set to true world spawn and spawn chunks bounding boxes are drawn.");
         worldSpawnMaxY = setup(config, "worldSpawn", "worldSpawnMaxY", -1, "The maximum top of the world spawn bounding boxes. If set to -1 it will use the value when activated, if set to 0 it will always track the players feet.");
@@ -170,6 +175,7 @@ public class ConfigManager {
         drawSpawnableBlocks = setup(config, "spawnableBlocks", "drawSpawnableBlocks", false, "If set to true boxes to show spawnable blocks will be drawn.");
         spawnableBlocksRenderWidth = setup(config, "spawnableBlocks", "spawnableBlocksRenderWidth", 2, "The distance from the player where spawnable blocks will be drawn in X and Z axis.");
         spawnableBlocksRenderHeight = setup(config, "spawnableBlocks", "spawnableBlocksRenderHeight", 1, "The distance from the player where spawnable blocks will be drawn in Y axis.");
+        mergeSpawnableBlocks = setup(config, "spawnableBlocks", "mergeSpawnableBlocks", false, "If set to true adjacent spawnable blocks at the same height will be drawn as merged rectangles.");
 
         colorWorldSpawn = setup(config, "colors", "colorWorldSpawn", HexColor.from("#ff0000"), "Color of world spawn and spawn chunks bounding boxes.");
         colorLazySpawnChunks = setup(config, "colors", "colorLazySpawnChunks", HexColor.from("#ff0000"), "Color of lazy spawn chunks bounding boxes.");
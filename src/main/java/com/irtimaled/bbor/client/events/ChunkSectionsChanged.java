@@ -0,0 +1,47 @@
+package com.irtimaled.bbor.client.events;
+
+public class ChunkSectionsChanged {
+    public static final int ALL_SECTIONS = 0xFFFF;
+
+    private final int chunkX;
+    private final int chunkZ;
+    private final int sectionMask;
+
+    public ChunkSectionsChanged(int chunkX, int chunkZ, int sectionMask) {
+        this.chunkX = chunkX;
+        this.chunkZ = chunkZ;
+        this.sectionMask = sectionMask;
+    }
+
+    public int getChunkX() {
+        return chunkX;
+    }
+
+    public int getChunkZ() {
+        return chunkZ;
+    }
+
+    public int getSectionMask() {
+        return sectionMask;
+    }
+
+    public boolean containsSection(int sectionY) {
+        return (sectionMask & (1 << sectionY)) != 0;
+    }
+
+    public boolean intersects(int minX, int minZ, int maxX, int maxZ) {
+        return chunkX >= minX >> 4 && chunkX <= maxX >> 4 &&
+                chunkZ >= minZ >> 4 && chunkZ <= maxZ >> 4;
+    }
+
+    public boolean intersects(int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        if (!intersects(minX, minZ, maxX, maxZ)) return false;
+
+        int minSection = Math.max(0, minY >> 4);
+        int maxSection = Math.min(15, maxY >> 4);
+        if (minSection > maxSection) return false;
+
+        int rangeMask = (ALL_SECTIONS >>> (15 - maxSection + minSection)) << minSection;
+        return (sectionMask & rangeMask) != 0;
+    }
+}
@@ -54,7 +54,8 @@ public class SettingsScreen extends ListScreen {
                         width -> new MaxYSettingSlider(width, 39, ConfigManager.worldSpawnMaxY))
                 .section(I18n.format("bbor.features.slimeChunks"),
                         width -> new BoundingBoxTypeButton(width, I18n.format("bbor.features.slimeChunks"), BoundingBoxType.SlimeChunks),
-                        width -> new MaxYSettingSlider(width, 39, ConfigManager.slimeChunkMaxY))
+                        width -> new MaxYSettingSlider(width, 39, ConfigManager.slimeChunkMaxY),
+                        width -> new BoolSettingButton(width, I18n.format("bbor.features.slimeChunks.merged"), ConfigManager.mergeSlimeChunks))
                 .section(I18n.format("bbor.features.biomeBorders"),
                         width -> new BoundingBoxTypeButton(width, I18n.format("bbor.features.biomeBorders"), BoundingBoxType.BiomeBorder),
                         width -> new MaxYSettingSlider(width, 1, ConfigManager.biomeBordersMaxY),
@@ -69,7 +70,8 @@ public class SettingsScreen extends ListScreen {
                                 .addDisplayValue(2, I18n.format("bbor.options.distance.nearer"))
                                 .addDisplayValue(3, I18n.format("bbor.options.distance.normal")))
                 .section(I18n.format("bbor.features.bedrockCeilingBlocks"),
-                        width -> new BoundingBoxTypeButton(width, I18n.format("bbor.features.bedrockCeilingBlocks"), BoundingBoxType.BedrockCeiling))
+                        width -> new BoundingBoxTypeButton(width, I18n.format("bbor.features.bedrockCeilingBlocks"), BoundingBoxType.BedrockCeiling),
+                        width -> new IntSettingSlider(width, 4, 32, "bbor.options.cacheDistance", ConfigManager.bedrockCeilingCacheDistance))
                 .section(I18n.format("bbor.features.mobSpawners"),
                         width -> new BoundingBoxTypeButton(width, I18n.format("bbor.features.mobSpawners"), BoundingBoxType.MobSpawner),
                         width -> new BoolSettingButton(width, I18n.format("bbor.features.mobSpawners.spawnArea"), ConfigManager.renderMobSpawnerSpawnArea),
@@ -87,7 +89,8 @@ public class SettingsScreen extends ListScreen {
                         width -> new IntSettingSlider(width, 1, 3, "bbor.options.distance.xz", ConfigManager.spawnableBlocksRenderWidth)
                                 .addDisplayValue(1, "8")
                                 .addDisplayValue(2, "16")
-                                .addDisplayValue(3, "32"))
+                                .addDisplayValue(3, "32"),
+                        width -> new BoolSettingButton(width, I18n.format("bbor.features.spawnableBlocks.merged"), ConfigManager.mergeSpawnableBlocks))
                 .section(I18n.format("bbor.features.spawningSpheres"),
                         width -> new BoundingBoxTypeButton(width, I18n.format("bbor.features.spawningSpheres"), BoundingBoxType.AFKSphere),
                         width -> new BoolSettingButton(width, I18n.format("bbor.features.spawnableBlocks"), ConfigManager.renderAFKSpawnableBlocks))
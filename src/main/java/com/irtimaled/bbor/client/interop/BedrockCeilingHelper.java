@@ -2,26 +2,25 @@ package com.irtimaled.bbor.client.interop;
 
 import net.minecraft.block.BlockState;
 import net.minecraft.block.Blocks;
-import net.minecraft.client.Minecraft;
-import net.minecraft.util.SharedSeedRandom;
-import net.minecraft.util.math.BlockPos;
-
-import java.util.Random;
 
 public class BedrockCeilingHelper {
-    public static boolean isBedrock(int x, int y, int z){
-        BlockPos pos = new BlockPos(x, y, z);
-        BlockState blockState = Minecraft.getInstance().world.getBlockState(pos);
-        return blockState == Blocks.BEDROCK.getDefaultState();
+    private static final BlockState BEDROCK = Blocks.BEDROCK.getDefaultState();
+
+    public static int getCeilingY(ChunkSnapshot chunk, int x, int z) {
+        int ceilingY = ColumnScanner.NO_HIT;
+        for (int y = 127; y >= 123; y--) {
+            if (chunk.getBlockState(x, y, z) != BEDROCK) continue;
+            if (ceilingY != ColumnScanner.NO_HIT) return ColumnScanner.NO_HIT;
+            ceilingY = y;
+        }
+        return ceilingY;
     }
 
     public static boolean chunkLoaded(int chunkX, int chunkZ) {
-        return Minecraft.getInstance().world.getChunkProvider().chunkExists(chunkX, chunkZ);
+        return WorldSnapshot.getChunk(chunkX, chunkZ) != null;
     }
 
-    public static Random getRandomForChunk(int chunkX, int chunkZ) {
-        SharedSeedRandom random = new SharedSeedRandom();
-        random.setBaseChunkSeed(chunkX, chunkZ);
-        return random;
+    public static SimulatedRandom getRandomForChunk(int chunkX, int chunkZ) {
+        return new SimulatedRandom(chunkX * 341873128712L + chunkZ * 132897987541L);
     }
 }
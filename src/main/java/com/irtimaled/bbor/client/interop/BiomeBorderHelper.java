@@ -2,11 +2,27 @@ package com.irtimaled.bbor.client.interop;
 
 import com.irtimaled.bbor.common.models.Coords;
 import net.minecraft.client.Minecraft;
+import net.minecraft.client.world.ClientWorld;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.registry.Registry;
 import net.minecraft.world.biome.Biome;
+import net.minecraft.world.biome.Biomes;
+import net.minecraft.world.chunk.Chunk;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class BiomeBorderHelper {
+    private static final int[] UNLOADED_BIOME_IDS = new int[256];
+    private static final Map<Long, int[]> chunkBiomeIds = new ConcurrentHashMap<>();
+    private static ClientWorld cachedWorld;
+
+    static {
+        // the client world reports plains for chunks it doesn't have
+        Arrays.fill(UNLOADED_BIOME_IDS, Registry.BIOME.getId(Biomes.PLAINS));
+    }
+
     public static int getBiomeId(Coords coords) {
         return getBiomeId(coords.getX(), coords.getY(), coords.getZ());
     }
@@ -16,4 +32,61 @@ public class BiomeBorderHelper {
         Biome biome = Minecraft.getInstance().world.getBiome(pos);
         return Registry.BIOME.getId(biome);
     }
+
+    public static int[] getBiomeIds(int minX, int maxX, int minZ, int maxZ) {
+        int depth = maxZ - minZ + 1;
+        int[] biomeIds = new int[(maxX - minX + 1) * depth];
+        for (int chunkX = minX >> 4; chunkX <= maxX >> 4; chunkX++) {
+            int startX = Math.max(minX, chunkX << 4);
+            int endX = Math.min(maxX, (chunkX << 4) + 15);
+            for (int chunkZ = minZ >> 4; chunkZ <= maxZ >> 4; chunkZ++) {
+                int startZ = Math.max(minZ, chunkZ << 4);
+                int endZ = Math.min(maxZ, (chunkZ << 4) + 15);
+                int[] chunkIds = getChunkBiomeIds(chunkX, chunkZ);
+                for (int x = startX; x <= endX; x++) {
+                    int offset = (x - minX) * depth - minZ;
+                    for (int z = startZ; z <= endZ; z++) {
+                        biomeIds[offset + z] = chunkIds[(z & 15) << 4 | (x & 15)];
+                    }
+                }
+            }
+        }
+        return biomeIds;
+    }
+
+    public static int[] getChunkBiomeIds(int chunkX, int chunkZ) {
+        int[] biomeIds = chunkBiomeIds.get(getKey(chunkX, chunkZ));
+        return biomeIds != null ? biomeIds : UNLOADED_BIOME_IDS;
+    }
+
+    // the ids are only written on the client thread, so scans never cache biomes of a chunk that has since changed
+    public static void receivedChunk(int chunkX, int chunkZ) {
+        ClientWorld world = Minecraft.getInstance().world;
+        if (world != cachedWorld) {
+            chunkBiomeIds.clear();
+            cachedWorld = world;
+        }
+        if (world == null || !world.getChunkProvider().chunkExists(chunkX, chunkZ)) return;
+
+        Chunk chunk = world.getChunk(chunkX, chunkZ);
+        Biome[] biomes = chunk.getBiomes();
+        int[] biomeIds = new int[256];
+        for (int index = 0; index < biomeIds.length; index++) {
+            biomeIds[index] = Registry.BIOME.getId(biomes[index]);
+        }
+        chunkBiomeIds.put(getKey(chunkX, chunkZ), biomeIds);
+    }
+
+    public static void unloadedChunk(int chunkX, int chunkZ) {
+        chunkBiomeIds.remove(getKey(chunkX, chunkZ));
+    }
+
+    public static void clear() {
+        chunkBiomeIds.clear();
+        cachedWorld = null;
+    }
+
+    private static long getKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
 }
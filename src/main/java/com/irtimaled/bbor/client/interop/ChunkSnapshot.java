@@ -0,0 +1,138 @@
+package com.irtimaled.bbor.client.interop;
+
+import io.netty.buffer.Unpooled;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.fluid.IFluidState;
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.SectionPos;
+import net.minecraft.world.IBlockReader;
+import net.minecraft.world.LightType;
+import net.minecraft.world.World;
+import net.minecraft.world.biome.Biome;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.NibbleArray;
+import net.minecraft.world.gen.Heightmap;
+import net.minecraft.world.lighting.IWorldLightListener;
+
+public class ChunkSnapshot implements IBlockReader {
+    private static final BlockState AIR = Blocks.AIR.getDefaultState();
+    private static final int SECTIONS = 16;
+
+    private final int chunkX;
+    private final int chunkZ;
+    private final ChunkSection[] sections;
+    private final NibbleArray[] blockLight;
+    private final int[] topBlockYs;
+    private final Biome[] biomes;
+
+    private ChunkSnapshot(int chunkX, int chunkZ, ChunkSection[] sections, NibbleArray[] blockLight, int[] topBlockYs, Biome[] biomes) {
+        this.chunkX = chunkX;
+        this.chunkZ = chunkZ;
+        this.sections = sections;
+        this.blockLight = blockLight;
+        this.topBlockYs = topBlockYs;
+        this.biomes = biomes;
+    }
+
+    static ChunkSnapshot capture(World world, Chunk chunk) {
+        int chunkX = chunk.getPos().x;
+        int chunkZ = chunk.getPos().z;
+        IWorldLightListener lightListener = world.getChunkProvider().getLightManager().getLightEngine(LightType.BLOCK);
+        ChunkSection[] sections = new ChunkSection[SECTIONS];
+        NibbleArray[] blockLight = new NibbleArray[SECTIONS];
+        for (int sectionY = 0; sectionY < SECTIONS; sectionY++) {
+            sections[sectionY] = copySection(chunk.getSections()[sectionY]);
+            blockLight[sectionY] = copyLight(lightListener, chunkX, sectionY, chunkZ);
+        }
+        return new ChunkSnapshot(chunkX, chunkZ, sections, blockLight, captureTopBlockYs(chunk), chunk.getBiomes().clone());
+    }
+
+    ChunkSnapshot update(World world, Chunk chunk, int sectionMask) {
+        IWorldLightListener lightListener = world.getChunkProvider().getLightManager().getLightEngine(LightType.BLOCK);
+        ChunkSection[] sections = this.sections.clone();
+        NibbleArray[] blockLight = this.blockLight.clone();
+        for (int sectionY = 0; sectionY < SECTIONS; sectionY++) {
+            if ((sectionMask & (1 << sectionY)) == 0) continue;
+
+            sections[sectionY] = copySection(chunk.getSections()[sectionY]);
+            blockLight[sectionY] = copyLight(lightListener, chunkX, sectionY, chunkZ);
+        }
+        return new ChunkSnapshot(chunkX, chunkZ, sections, blockLight, captureTopBlockYs(chunk), biomes);
+    }
+
+    private static ChunkSection copySection(ChunkSection section) {
+        if (ChunkSection.isEmpty(section)) return Chunk.EMPTY_SECTION;
+
+        PacketBuffer buffer = new PacketBuffer(Unpooled.buffer());
+        section.write(buffer);
+        ChunkSection copy = new ChunkSection(section.getYLocation());
+        copy.read(buffer);
+        return copy;
+    }
+
+    private static NibbleArray copyLight(IWorldLightListener lightListener, int chunkX, int sectionY, int chunkZ) {
+        NibbleArray light = lightListener.getData(SectionPos.of(chunkX, sectionY, chunkZ));
+        return light == null ? null : light.copy();
+    }
+
+    private static int[] captureTopBlockYs(Chunk chunk) {
+        int[] topBlockYs = new int[256];
+        for (int index = 0; index < topBlockYs.length; index++) {
+            topBlockYs[index] = chunk.getTopBlockY(Heightmap.Type.MOTION_BLOCKING, index & 15, index >> 4);
+        }
+        return topBlockYs;
+    }
+
+    public int getChunkX() {
+        return chunkX;
+    }
+
+    public int getChunkZ() {
+        return chunkZ;
+    }
+
+    public ChunkSection getSection(int sectionY) {
+        return sectionY >= 0 && sectionY < SECTIONS ? sections[sectionY] : Chunk.EMPTY_SECTION;
+    }
+
+    public BlockState getBlockState(int x, int y, int z) {
+        if (x >> 4 != chunkX || z >> 4 != chunkZ) return AIR;
+
+        ChunkSection section = getSection(y >> 4);
+        return ChunkSection.isEmpty(section) ? AIR : section.getBlockState(x & 15, y & 15, z & 15);
+    }
+
+    public int getBlockLight(int x, int y, int z) {
+        if (y < 0 || y >> 4 >= SECTIONS) return 0;
+
+        NibbleArray light = blockLight[y >> 4];
+        return light == null ? 0 : light.get(x & 15, y & 15, z & 15);
+    }
+
+    public int getTopBlockY(int x, int z) {
+        return topBlockYs[(z & 15) << 4 | (x & 15)];
+    }
+
+    public Biome getBiome(int x, int z) {
+        return biomes[(z & 15) << 4 | (x & 15)];
+    }
+
+    @Override
+    public BlockState getBlockState(BlockPos pos) {
+        return getBlockState(pos.getX(), pos.getY(), pos.getZ());
+    }
+
+    @Override
+    public IFluidState getFluidState(BlockPos pos) {
+        return getBlockState(pos).getFluidState();
+    }
+
+    @Override
+    public TileEntity getTileEntity(BlockPos pos) {
+        return null;
+    }
+}
@@ -3,6 +3,7 @@ package com.irtimaled.bbor.client.interop;
 import com.irtimaled.bbor.client.ClientRenderer;
 import com.irtimaled.bbor.client.Player;
 import com.irtimaled.bbor.client.commands.*;
+import com.irtimaled.bbor.client.events.ChunkSectionsChanged;
 import com.irtimaled.bbor.client.events.DisconnectedFromRemoteServer;
 import com.irtimaled.bbor.client.events.SaveLoaded;
 import com.irtimaled.bbor.client.events.UpdateWorldSpawnReceived;
@@ -25,10 +26,13 @@ import net.minecraft.util.text.event.ClickEvent;
 public class ClientInterop {
     public static void disconnectedFromRemoteServer() {
         SaveGameStructureLoader.clear();
+        WorldSnapshot.clear();
+        BiomeBorderHelper.clear();
         EventBus.publish(new DisconnectedFromRemoteServer());
     }
 
     public static void render(float partialTicks, ClientPlayerEntity player) {
+        WorldSnapshot.update(Minecraft.getInstance().world);
         Player.setPosition(partialTicks, player);
         ClientRenderer.render(DimensionId.from(player.dimension));
     }
@@ -92,15 +96,33 @@ public class ClientInterop {
     public static void registerClientCommands(CommandDispatcher<ISuggestionProvider> commandDispatcher) {
         SeedCommand.register(commandDispatcher);
         SpawningSphereCommand.register(commandDispatcher);
+        SlimeFinderCommand.register(commandDispatcher);
         CustomCommand.register(commandDispatcher);
         ConfigCommand.register(commandDispatcher);
         StructuresCommand.register(commandDispatcher);
     }
 
     public static void receivedChunk(int chunkX, int chunkZ) {
+        BiomeBorderHelper.receivedChunk(chunkX, chunkZ);
+        chunkSectionsChanged(chunkX, chunkZ, ChunkSectionsChanged.ALL_SECTIONS);
         SaveGameStructureLoader.loadStructures(chunkX, chunkZ);
     }
 
+    public static void unloadedChunk(int chunkX, int chunkZ) {
+        BiomeBorderHelper.unloadedChunk(chunkX, chunkZ);
+        chunkSectionsChanged(chunkX, chunkZ, ChunkSectionsChanged.ALL_SECTIONS);
+    }
+
+    public static void blockChanged(BlockPos pos) {
+        chunkSectionsChanged(pos.getX() >> 4, pos.getZ() >> 4, 1 << (pos.getY() >> 4));
+    }
+
+    public static void chunkSectionsChanged(int chunkX, int chunkZ, int sectionMask) {
+        if (sectionMask == 0) return;
+
+        WorldSnapshot.sectionsChanged(chunkX, chunkZ, sectionMask);
+    }
+
     public static void saveLoaded(String fileName, long seed) {
         displayScreen(null);
         Minecraft.getInstance().mouseHelper.grabMouse();
@@ -0,0 +1,66 @@
+package com.irtimaled.bbor.client.interop;
+
+import java.util.Arrays;
+
+class ColumnMask {
+    static final int RANGES = 2;
+
+    private final int minX;
+    private final int minZ;
+    private final int maxX;
+    private final int maxZ;
+    private final int depth;
+    private final int[] minYs;
+    private final int[] maxYs;
+
+    ColumnMask(int minX, int minZ, int maxX, int maxZ) {
+        this.minX = minX;
+        this.minZ = minZ;
+        this.maxX = maxX;
+        this.maxZ = maxZ;
+        this.depth = maxZ - minZ + 1;
+        int size = (maxX - minX + 1) * depth * RANGES;
+        this.minYs = new int[size];
+        this.maxYs = new int[size];
+        Arrays.fill(minYs, Integer.MAX_VALUE);
+        Arrays.fill(maxYs, Integer.MIN_VALUE);
+    }
+
+    int getMinX() {
+        return minX;
+    }
+
+    int getMinZ() {
+        return minZ;
+    }
+
+    int getMaxX() {
+        return maxX;
+    }
+
+    int getMaxZ() {
+        return maxZ;
+    }
+
+    void setRange(int x, int z, int range, int minY, int maxY) {
+        int index = getIndex(x, z, range);
+        minYs[index] = minY;
+        maxYs[index] = maxY;
+    }
+
+    int getMinY(int x, int z, int range) {
+        return contains(x, z) ? minYs[getIndex(x, z, range)] : Integer.MAX_VALUE;
+    }
+
+    int getMaxY(int x, int z, int range) {
+        return contains(x, z) ? maxYs[getIndex(x, z, range)] : Integer.MIN_VALUE;
+    }
+
+    private boolean contains(int x, int z) {
+        return x >= minX && x <= maxX && z >= minZ && z <= maxZ;
+    }
+
+    private int getIndex(int x, int z, int range) {
+        return ((x - minX) * depth + (z - minZ)) * RANGES + range;
+    }
+}
@@ -0,0 +1,131 @@
+package com.irtimaled.bbor.client.interop;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.LongPredicate;
+
+public class ColumnScanner {
+    public static final int NO_HIT = Integer.MIN_VALUE;
+
+    private static final ForkJoinPool pool = new ForkJoinPool(
+            Math.max(1, Runtime.getRuntime().availableProcessors() / 2),
+            forkJoinPool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+                thread.setName("BBOR Scanner");
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MIN_PRIORITY);
+                return thread;
+            },
+            null, false);
+
+    public static ScanResults scanColumns(int minX, int minZ, int maxX, int maxZ, ColumnPredicate predicate) {
+        return scanColumns(minX, minZ, maxX, maxZ, chunkKey -> true, predicate);
+    }
+
+    public static ScanResults scanColumns(int minX, int minZ, int maxX, int maxZ, LongPredicate chunkFilter, ColumnPredicate predicate) {
+        return scanChunks(minX, minZ, maxX, maxZ, chunkFilter, (chunk, chunkMinX, chunkMinZ, chunkMaxX, chunkMaxZ, sink) -> {
+            for (int z = chunkMinZ; z <= chunkMaxZ; z++) {
+                for (int x = chunkMinX; x <= chunkMaxX; x++) {
+                    int y = predicate.getY(chunk, x, z);
+                    if (y != NO_HIT) sink.add(x, y, z);
+                }
+            }
+        });
+    }
+
+    public static ScanResults scanChunks(int minX, int minZ, int maxX, int maxZ, ChunkScanner scanner) {
+        return scanChunks(minX, minZ, maxX, maxZ, chunkKey -> true, scanner);
+    }
+
+    public static ScanResults scanChunks(int minX, int minZ, int maxX, int maxZ, LongPredicate chunkFilter, ChunkScanner scanner) {
+        if (minX > maxX || minZ > maxZ) return new ScanResults();
+
+        return pool.invoke(new ScanTask(minX, minZ, maxX, maxZ,
+                minX >> 4, minZ >> 4, maxX >> 4, maxZ >> 4, chunkFilter, scanner));
+    }
+
+    public static long getChunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    @FunctionalInterface
+    public interface ColumnPredicate {
+        int getY(ChunkSnapshot chunk, int x, int z);
+    }
+
+    @FunctionalInterface
+    public interface ChunkScanner {
+        void scan(ChunkSnapshot chunk, int minX, int minZ, int maxX, int maxZ, PositionSink sink);
+    }
+
+    @FunctionalInterface
+    public interface PositionSink {
+        void add(int x, int y, int z);
+    }
+
+    private static class ScanTask extends RecursiveTask<ScanResults> {
+        private final int minX;
+        private final int minZ;
+        private final int maxX;
+        private final int maxZ;
+        private final int minChunkX;
+        private final int minChunkZ;
+        private final int maxChunkX;
+        private final int maxChunkZ;
+        private final LongPredicate chunkFilter;
+        private final ChunkScanner scanner;
+
+        private ScanTask(int minX, int minZ, int maxX, int maxZ,
+                         int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ,
+                         LongPredicate chunkFilter, ChunkScanner scanner) {
+            this.minX = minX;
+            this.minZ = minZ;
+            this.maxX = maxX;
+            this.maxZ = maxZ;
+            this.minChunkX = minChunkX;
+            this.minChunkZ = minChunkZ;
+            this.maxChunkX = maxChunkX;
+            this.maxChunkZ = maxChunkZ;
+            this.chunkFilter = chunkFilter;
+            this.scanner = scanner;
+        }
+
+        @Override
+        protected ScanResults compute() {
+            if (minChunkX == maxChunkX && minChunkZ == maxChunkZ) return scanChunk(minChunkX, minChunkZ);
+
+            ScanTask first;
+            ScanTask second;
+            if (maxChunkX - minChunkX >= maxChunkZ - minChunkZ) {
+                int midChunkX = (minChunkX + maxChunkX) >> 1;
+                first = split(minChunkX, minChunkZ, midChunkX, maxChunkZ);
+                second = split(midChunkX + 1, minChunkZ, maxChunkX, maxChunkZ);
+            } else {
+                int midChunkZ = (minChunkZ + maxChunkZ) >> 1;
+                first = split(minChunkX, minChunkZ, maxChunkX, midChunkZ);
+                second = split(minChunkX, midChunkZ + 1, maxChunkX, maxChunkZ);
+            }
+            first.fork();
+            ScanResults results = second.compute();
+            results.addAll(first.join());
+            return results;
+        }
+
+        private ScanTask split(int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ) {
+            return new ScanTask(minX, minZ, maxX, maxZ, minChunkX, minChunkZ, maxChunkX, maxChunkZ, chunkFilter, scanner);
+        }
+
+        private ScanResults scanChunk(int chunkX, int chunkZ) {
+            ScanResults results = new ScanResults();
+            if (!chunkFilter.test(getChunkKey(chunkX, chunkZ))) return results;
+
+            ChunkSnapshot chunk = WorldSnapshot.getChunk(chunkX, chunkZ);
+            if (chunk == null) return results;
+
+            scanner.scan(chunk, Math.max(minX, chunkX << 4), Math.max(minZ, chunkZ << 4),
+                    Math.min(maxX, (chunkX << 4) + 15), Math.min(maxZ, (chunkZ << 4) + 15), results);
+            return results;
+        }
+    }
+}
@@ -4,53 +4,89 @@ import com.irtimaled.bbor.client.config.ConfigManager;
 import com.irtimaled.bbor.client.config.HexColor;
 import com.irtimaled.bbor.client.config.Setting;
 import com.irtimaled.bbor.common.models.Coords;
+import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.Blocks;
-import net.minecraft.client.Minecraft;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.biome.Biomes;
 import net.minecraft.world.gen.feature.DecoratedFeatureConfig;
 import net.minecraft.world.gen.feature.FlowersFeature;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Random;
+import java.util.*;
 
 public class FlowerForestHelper {
+    private static final int MAX_SURFACE_DEPTH = 32;
+
+    private static final int MAX_CACHED_TILES = 256;
+    private static final byte UNCACHED = 0;
+    private static final byte NO_FLOWER = 1;
+
     private static final Random random = new Random();
 
-    private static final Map<BlockState, Setting<HexColor>> flowerColorMap = new HashMap<>();
+    private static final Map<BlockState, Byte> flowerTypeMap = new HashMap<>();
+    private static final List<Setting<HexColor>> flowerColors = new ArrayList<>();
     private static final FlowersFeature flowersFeature;
 
+    private static final Map<Long, byte[]> flowerTypeTiles = new LinkedHashMap<Long, byte[]>(16, 0.75F, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, byte[]> eldest) {
+            return size() > MAX_CACHED_TILES;
+        }
+    };
+
     static {
-        flowerColorMap.put(Blocks.DANDELION.getDefaultState(), ConfigManager.colorFlowerForestDandelion);
-        flowerColorMap.put(Blocks.POPPY.getDefaultState(), ConfigManager.colorFlowerForestPoppy);
-        flowerColorMap.put(Blocks.ALLIUM.getDefaultState(), ConfigManager.colorFlowerForestAllium);
-        flowerColorMap.put(Blocks.AZURE_BLUET.getDefaultState(), ConfigManager.colorFlowerForestAzureBluet);
-        flowerColorMap.put(Blocks.RED_TULIP.getDefaultState(), ConfigManager.colorFlowerForestRedTulip);
-        flowerColorMap.put(Blocks.ORANGE_TULIP.getDefaultState(), ConfigManager.colorFlowerForestOrangeTulip);
-        flowerColorMap.put(Blocks.WHITE_TULIP.getDefaultState(), ConfigManager.colorFlowerForestWhiteTulip);
-        flowerColorMap.put(Blocks.PINK_TULIP.getDefaultState(), ConfigManager.colorFlowerForestPinkTulip);
-        flowerColorMap.put(Blocks.OXEYE_DAISY.getDefaultState(), ConfigManager.colorFlowerForestOxeyeDaisy);
-        flowerColorMap.put(Blocks.CORNFLOWER.getDefaultState(), ConfigManager.colorFlowerForestCornflower);
-        flowerColorMap.put(Blocks.LILY_OF_THE_VALLEY.getDefaultState(), ConfigManager.colorFlowerForestLilyOfTheValley);
+        addFlower(Blocks.DANDELION, ConfigManager.colorFlowerForestDandelion);
+        addFlower(Blocks.POPPY, ConfigManager.colorFlowerForestPoppy);
+        addFlower(Blocks.ALLIUM, ConfigManager.colorFlowerForestAllium);
+        addFlower(Blocks.AZURE_BLUET, ConfigManager.colorFlowerForestAzureBluet);
+        addFlower(Blocks.RED_TULIP, ConfigManager.colorFlowerForestRedTulip);
+        addFlower(Blocks.ORANGE_TULIP, ConfigManager.colorFlowerForestOrangeTulip);
+        addFlower(Blocks.WHITE_TULIP, ConfigManager.colorFlowerForestWhiteTulip);
+        addFlower(Blocks.PINK_TULIP, ConfigManager.colorFlowerForestPinkTulip);
+        addFlower(Blocks.OXEYE_DAISY, ConfigManager.colorFlowerForestOxeyeDaisy);
+        addFlower(Blocks.CORNFLOWER, ConfigManager.colorFlowerForestCornflower);
+        addFlower(Blocks.LILY_OF_THE_VALLEY, ConfigManager.colorFlowerForestLilyOfTheValley);
 
         DecoratedFeatureConfig config = (DecoratedFeatureConfig) Biomes.FLOWER_FOREST.getFlowers().get(0).config;
         flowersFeature = (FlowersFeature) config.feature.feature;
     }
 
+    private static void addFlower(Block block, Setting<HexColor> colorSetting) {
+        flowerTypeMap.put(block.getDefaultState(), (byte) (flowerColors.size() + 2));
+        flowerColors.add(colorSetting);
+    }
+
     public static Setting<HexColor> getFlowerColorAtPos(Coords coords) {
-        int x = coords.getX();
-        int z = coords.getZ();
-        BlockState blockState = flowersFeature.getRandomFlower(random, new BlockPos(x, coords.getY(), z));
-        return flowerColorMap.get(blockState);
+        byte flowerType = getFlowerType(coords.getX(), coords.getY(), coords.getZ());
+        return flowerType == NO_FLOWER ? null : flowerColors.get(flowerType - 2);
+    }
+
+    private static synchronized byte getFlowerType(int x, int y, int z) {
+        long key = ((long) (x >> 4) << 32) | ((z >> 4) & 0xFFFFFFFFL);
+        byte[] tile = flowerTypeTiles.computeIfAbsent(key, k -> new byte[256]);
+        int index = (z & 15) << 4 | (x & 15);
+        byte flowerType = tile[index];
+        if (flowerType == UNCACHED) {
+            BlockState blockState = flowersFeature.getRandomFlower(random, new BlockPos(x, y, z));
+            flowerType = flowerTypeMap.getOrDefault(blockState, NO_FLOWER);
+            tile[index] = flowerType;
+        }
+        return flowerType;
     }
 
-    public static void setSeed(long seed) {
+    public static synchronized void setSeed(long seed) {
         random.setSeed(seed);
+        flowerTypeTiles.clear();
     }
 
-    public static boolean canGrowFlower(int x, int y, int z) {
-        return Minecraft.getInstance().world.getBlockState(new BlockPos(x, y, z)).getBlock() == Blocks.GRASS_BLOCK;
+    public static int getSurfaceY(ChunkSnapshot chunk, int x, int z) {
+        if (chunk.getBiome(x, z) != Biomes.FLOWER_FOREST) return ColumnScanner.NO_HIT;
+
+        int topY = chunk.getTopBlockY(x, z);
+        int minY = Math.max(0, topY - MAX_SURFACE_DEPTH);
+        for (int y = topY; y > minY; y--) {
+            if (chunk.getBlockState(x, y, z).getBlock() == Blocks.GRASS_BLOCK) return y;
+        }
+        return ColumnScanner.NO_HIT;
     }
 }
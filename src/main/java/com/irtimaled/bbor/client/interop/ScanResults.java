@@ -0,0 +1,44 @@
+package com.irtimaled.bbor.client.interop;
+
+import java.util.Arrays;
+
+public class ScanResults implements ColumnScanner.PositionSink {
+    private static final int X_SHIFT = 38;
+    private static final int Z_SHIFT = 12;
+    private static final long HORIZONTAL_MASK = (1L << 26) - 1;
+    private static final long VERTICAL_MASK = (1L << 12) - 1;
+
+    private long[] positions = new long[16];
+    private int size = 0;
+
+    @Override
+    public void add(int x, int y, int z) {
+        if (size == positions.length) positions = Arrays.copyOf(positions, size * 2);
+        positions[size++] = (x & HORIZONTAL_MASK) << X_SHIFT | (z & HORIZONTAL_MASK) << Z_SHIFT | (y & VERTICAL_MASK);
+    }
+
+    void addAll(ScanResults other) {
+        if (other.size == 0) return;
+        if (size + other.size > positions.length) {
+            positions = Arrays.copyOf(positions, Math.max(positions.length * 2, size + other.size));
+        }
+        System.arraycopy(other.positions, 0, positions, size, other.size);
+        size += other.size;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getX(int index) {
+        return (int) (positions[index] >> X_SHIFT);
+    }
+
+    public int getY(int index) {
+        return (int) (positions[index] << 52 >> 52);
+    }
+
+    public int getZ(int index) {
+        return (int) (positions[index] << 26 >> X_SHIFT);
+    }
+}
@@ -0,0 +1,74 @@
+package com.irtimaled.bbor.client.interop;
+
+public class SimulatedRandom {
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+
+    private static final long[] jumpMultipliers = new long[48];
+    private static final long[] jumpAddends = new long[48];
+
+    static {
+        jumpMultipliers[0] = MULTIPLIER;
+        jumpAddends[0] = ADDEND;
+        for (int bit = 1; bit < 48; bit++) {
+            long multiplier = jumpMultipliers[bit - 1];
+            long addend = jumpAddends[bit - 1];
+            jumpMultipliers[bit] = (multiplier * multiplier) & MASK;
+            jumpAddends[bit] = (addend * (multiplier + 1)) & MASK;
+        }
+    }
+
+    private long seed;
+
+    public SimulatedRandom(long seed) {
+        setSeed(seed);
+    }
+
+    public void setSeed(long seed) {
+        this.seed = (seed ^ MULTIPLIER) & MASK;
+    }
+
+    public void skip(long steps) {
+        long seed = this.seed;
+        for (int bit = 0; steps != 0; bit++, steps >>>= 1) {
+            if ((steps & 1) != 0) {
+                seed = (seed * jumpMultipliers[bit] + jumpAddends[bit]) & MASK;
+            }
+        }
+        this.seed = seed;
+    }
+
+    public void skipDoubles(int count) {
+        skip(count * 2L);
+    }
+
+    public void skipInts(int bound, int count) {
+        if ((bound & -bound) == bound) {
+            skip(count);
+            return;
+        }
+        for (int index = 0; index < count; index++) {
+            nextInt(bound);
+        }
+    }
+
+    public int nextInt(int bound) {
+        int bits = next(31);
+        if ((bound & -bound) == bound) {
+            return (int) ((bound * (long) bits) >> 31);
+        }
+
+        int value = bits % bound;
+        while (bits - value + (bound - 1) < 0) {
+            bits = next(31);
+            value = bits % bound;
+        }
+        return value;
+    }
+
+    private int next(int bits) {
+        seed = (seed * MULTIPLIER + ADDEND) & MASK;
+        return (int) (seed >>> (48 - bits));
+    }
+}
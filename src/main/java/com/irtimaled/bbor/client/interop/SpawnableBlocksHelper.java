@@ -1,69 +1,239 @@
 package com.irtimaled.bbor.client.interop;
 
-import com.irtimaled.bbor.common.models.Coords;
+import com.irtimaled.bbor.mixin.util.palette.BlockStateContainerAccessor;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
-import net.minecraft.client.Minecraft;
+import net.minecraft.block.Blocks;
 import net.minecraft.entity.EntityClassification;
 import net.minecraft.entity.EntityType;
 import net.minecraft.tags.BlockTags;
 import net.minecraft.util.Direction;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.shapes.VoxelShape;
-import net.minecraft.world.LightType;
-import net.minecraft.world.World;
+import net.minecraft.util.palette.IPalette;
+import net.minecraft.world.IBlockReader;
 import net.minecraft.world.biome.Biome;
+import net.minecraft.world.chunk.ChunkSection;
+
+import java.util.Arrays;
+import java.util.Map;
 
 public class SpawnableBlocksHelper {
     private static final EntityType entityType = EntityType.Builder.create(EntityClassification.MONSTER)
             .size(0f, 0f).disableSerialization().build(null);
+    private static final int SECTION_VOLUME = 16 * 16 * 16;
+    private static final byte COMPUTED = 1;
+    private static final byte CAN_SPAWN_ON = 2;
+    private static final byte CAN_SPAWN_ON_IN_NETHER = 4;
+    private static final byte CAN_SPAWN_IN = 8;
+    private static final int MAX_PALETTE_BITS = 8;
+    private static final BlockState AIR = Blocks.AIR.getDefaultState();
+
+    private static volatile byte[] spawnFlags = new byte[0];
+
+    public static ScanResults findSpawnableBlocks(int minX, int minY, int minZ, int maxX, int maxY, int maxZ,
+                                                  Map<Long, long[]> sectionCache) {
+        return ColumnScanner.scanChunks(minX, minZ, maxX, maxZ, (chunk, chunkMinX, chunkMinZ, chunkMaxX, chunkMaxZ, sink) -> {
+            int chunkX = chunk.getChunkX();
+            int chunkZ = chunk.getChunkZ();
+            for (int sectionY = minY >> 4; sectionY <= maxY >> 4; sectionY++) {
+                long key = getSectionKey(chunkX, sectionY, chunkZ);
+                long[] bits = sectionCache.get(key);
+                if (bits == null) {
+                    bits = findSpawnableBlocksInSection(chunk, sectionY);
+                    sectionCache.put(key, bits);
+                }
+                addBlocks(bits, chunkX, sectionY, chunkZ, chunkMinX, minY, chunkMinZ, chunkMaxX, maxY, chunkMaxZ, sink);
+            }
+        });
+    }
+
+    public static long getSectionKey(int chunkX, int sectionY, int chunkZ) {
+        return ((long) chunkX & 0x3FFFFFL) << 42 | ((long) chunkZ & 0x3FFFFFL) << 20 | (sectionY & 0xFFFFF);
+    }
+
+    private static long[] findSpawnableBlocksInSection(ChunkSnapshot chunk, int sectionY) {
+        long[] bits = new long[SECTION_VOLUME / 64];
+        int minX = chunk.getChunkX() << 4;
+        int minY = sectionY << 4;
+        int minZ = chunk.getChunkZ() << 4;
+        findSpawnableBlocks(chunk, minX, minY, minZ, minX + 15, minY + 15, minZ + 15, null, (x, y, z) -> {
+            int index = getSectionIndex(x, y, z);
+            bits[index >> 6] |= 1L << index;
+        });
+        return bits;
+    }
+
+    private static void addBlocks(long[] bits, int chunkX, int sectionY, int chunkZ,
+                                  int minX, int minY, int minZ, int maxX, int maxY, int maxZ,
+                                  ColumnScanner.PositionSink sink) {
+        for (int word = 0; word < bits.length; word++) {
+            long value = bits[word];
+            while (value != 0) {
+                int index = (word << 6) | Long.numberOfTrailingZeros(value);
+                value &= value - 1;
+
+                int x = (chunkX << 4) | (index & 15);
+                int y = (sectionY << 4) | (index >> 8);
+                int z = (chunkZ << 4) | ((index >> 4) & 15);
+                if (x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ) {
+                    sink.add(x, y, z);
+                }
+            }
+        }
+    }
+
+    private static int getSectionIndex(int x, int y, int z) {
+        return (y & 15) << 8 | (z & 15) << 4 | (x & 15);
+    }
+
+    static ScanResults findSpawnableBlocks(int minX, int minY, int minZ, int maxX, int maxY, int maxZ,
+                                           ColumnMask columnMask) {
+        return ColumnScanner.scanChunks(minX, minZ, maxX, maxZ, (chunk, chunkMinX, chunkMinZ, chunkMaxX, chunkMaxZ, sink) ->
+                findSpawnableBlocks(chunk, chunkMinX, minY, chunkMinZ, chunkMaxX, maxY, chunkMaxZ, columnMask, sink));
+    }
+
+    private static void findSpawnableBlocks(ChunkSnapshot chunk, int minX, int minY, int minZ, int maxX, int maxY, int maxZ,
+                                            ColumnMask columnMask, ColumnScanner.PositionSink sink) {
+        minY = Math.max(1, minY);
+        maxY = Math.min(254, maxY);
+        if (columnMask != null) {
+            int maskMinY = Integer.MAX_VALUE;
+            int maskMaxY = Integer.MIN_VALUE;
+            for (int x = minX; x <= maxX; x++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    for (int range = 0; range < ColumnMask.RANGES; range++) {
+                        maskMinY = Math.min(maskMinY, columnMask.getMinY(x, z, range));
+                        maskMaxY = Math.max(maskMaxY, columnMask.getMaxY(x, z, range));
+                    }
+                }
+            }
+            minY = Math.max(minY, maskMinY);
+            maxY = Math.min(maxY, maskMaxY);
+            if (minY > maxY) return;
+        }
+
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        boolean[] spawnProofColumns = new boolean[256];
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                spawnProofColumns[(z & 15) << 4 | (x & 15)] = isBiomeHostileSpawnProof(chunk.getBiome(x, z));
+            }
+        }
+
+        boolean isNether = WorldSnapshot.isNether();
+        for (int sectionY = minY >> 4; sectionY <= maxY >> 4; sectionY++) {
+            ChunkSection section = chunk.getSection(sectionY);
+            ChunkSection sectionBelow = chunk.getSection(sectionY - 1);
+            int sectionMinY = Math.max(minY, sectionY << 4);
+            int sectionMaxY = Math.min(maxY, (sectionY << 4) + 15);
 
-    public static void findSpawnableBlocks(Coords coords, int width, int height, BlockProcessor blockProcessor) {
-        int blockX = coords.getX();
-        int minX = blockX - width;
-        int maxX = blockX + width + 1;
-
-        int blockZ = coords.getZ();
-        int minZ = blockZ - width;
-        int maxZ = blockZ + width + 1;
-
-        int blockY = coords.getY();
-        int minY = Math.max(1, blockY - height);
-        int maxY = Math.min(255, blockY + height);
-
-        World world = Minecraft.getInstance().world;
-        for (int x = minX; x < maxX; x++) {
-            for (int z = minZ; z < maxZ; z++) {
-                if (isBiomeHostileSpawnProof(world, new BlockPos(x, 1, z))) continue;
-
-                BlockState upperBlockState = world.getBlockState(new BlockPos(x, minY - 1, z));
-                for (int y = Math.max(1, minY); y < maxY; y++) {
-                    BlockState spawnBlockState = upperBlockState;
-                    BlockPos pos = new BlockPos(x, y, z);
-                    upperBlockState = world.getBlockState(pos);
-                    if (isSpawnable(world, pos, spawnBlockState, upperBlockState)) {
-                        blockProcessor.process(pos);
+            byte sectionFlags = getPaletteFlags(chunk, section, pos);
+            if ((sectionFlags & CAN_SPAWN_IN) == 0) continue;
+
+            byte floorFlag = isNether ? CAN_SPAWN_ON_IN_NETHER : CAN_SPAWN_ON;
+            if ((sectionFlags & floorFlag) == 0) {
+                // only the bottom layer can stand on the section below
+                if ((getPaletteFlags(chunk, sectionBelow, pos) & floorFlag) == 0) continue;
+                sectionMaxY = Math.min(sectionMaxY, sectionY << 4);
+            }
+
+            for (int z = minZ; z <= maxZ; z++) {
+                for (int x = minX; x <= maxX; x++) {
+                    if (spawnProofColumns[(z & 15) << 4 | (x & 15)]) continue;
+
+                    if (columnMask == null) {
+                        findSpawnableBlocksInColumn(chunk, isNether, section, sectionBelow, pos, x, z, sectionMinY, sectionMaxY, sink);
+                        continue;
+                    }
+                    for (int range = 0; range < ColumnMask.RANGES; range++) {
+                        findSpawnableBlocksInColumn(chunk, isNether, section, sectionBelow, pos, x, z,
+                                Math.max(sectionMinY, columnMask.getMinY(x, z, range)),
+                                Math.min(sectionMaxY, columnMask.getMaxY(x, z, range)), sink);
                     }
                 }
             }
         }
     }
 
-    static boolean isBiomeHostileSpawnProof(World world, BlockPos pos) {
-        Biome biome = world.getBiome(pos);
+    private static void findSpawnableBlocksInColumn(ChunkSnapshot chunk, boolean isNether, ChunkSection section, ChunkSection sectionBelow,
+                                                    BlockPos.MutableBlockPos pos, int x, int z, int minY, int maxY, ColumnScanner.PositionSink sink) {
+        for (int y = minY; y <= maxY; y++) {
+            int localY = y & 15;
+            BlockState upperBlockState = getBlockState(section, x & 15, localY, z & 15);
+            BlockState spawnBlockState = localY > 0
+                    ? getBlockState(section, x & 15, localY - 1, z & 15)
+                    : getBlockState(sectionBelow, x & 15, 15, z & 15);
+            if (isSpawnable(chunk, isNether, pos.setPos(x, y, z), spawnBlockState, upperBlockState)) {
+                sink.add(x, y, z);
+            }
+        }
+    }
+
+    private static BlockState getBlockState(ChunkSection section, int x, int y, int z) {
+        return ChunkSection.isEmpty(section) ? AIR : section.getBlockState(x, y, z);
+    }
+
+    private static byte getPaletteFlags(IBlockReader world, ChunkSection section, BlockPos pos) {
+        if (ChunkSection.isEmpty(section)) return getSpawnFlags(world, pos, AIR);
+
+        BlockStateContainerAccessor container = (BlockStateContainerAccessor) section.getData();
+        if (container.getBits() > MAX_PALETTE_BITS) return CAN_SPAWN_ON | CAN_SPAWN_ON_IN_NETHER | CAN_SPAWN_IN;
+
+        IPalette<BlockState> palette = container.getPalette();
+        byte flags = 0;
+        for (int index = 0; index < 1 << MAX_PALETTE_BITS; index++) {
+            BlockState blockState = palette.get(index);
+            if (blockState == null) break;
+            flags |= getSpawnFlags(world, pos, blockState);
+        }
+        return flags;
+    }
+
+    private static boolean isBiomeHostileSpawnProof(Biome biome) {
         return biome.getSpawningChance() == 0 ||
                 biome.getSpawns(EntityClassification.MONSTER).isEmpty();
     }
 
-    static boolean isSpawnable(World world, BlockPos pos, BlockState spawnBlockState, BlockState upperBlockState) {
-        VoxelShape collisionShape = upperBlockState.getCollisionShape(world, pos);
-        boolean isNether = world.dimension.isNether();
-        return spawnBlockState.canEntitySpawn(world, pos.down(), isNether ? EntityType.ZOMBIE_PIGMAN : entityType) &&
-                !Block.doesSideFillSquare(collisionShape, Direction.UP) &&
-                !upperBlockState.canProvidePower() &&
-                !upperBlockState.isIn(BlockTags.RAILS) &&
+    private static boolean isSpawnable(ChunkSnapshot chunk, boolean isNether, BlockPos pos, BlockState spawnBlockState, BlockState upperBlockState) {
+        byte spawnBlockFlags = getSpawnFlags(spawnBlockState);
+        if (spawnBlockFlags == 0) spawnBlockFlags = computeSpawnFlags(chunk, pos.down(), spawnBlockState);
+        if ((spawnBlockFlags & (isNether ? CAN_SPAWN_ON_IN_NETHER : CAN_SPAWN_ON)) == 0) return false;
+
+        byte upperBlockFlags = getSpawnFlags(chunk, pos, upperBlockState);
+        return (upperBlockFlags & CAN_SPAWN_IN) != 0 &&
+                (isNether || chunk.getBlockLight(pos.getX(), pos.getY(), pos.getZ()) <= 7);
+    }
+
+    private static byte getSpawnFlags(IBlockReader world, BlockPos pos, BlockState blockState) {
+        byte flags = getSpawnFlags(blockState);
+        return flags != 0 ? flags : computeSpawnFlags(world, pos, blockState);
+    }
+
+    private static byte getSpawnFlags(BlockState blockState) {
+        byte[] table = spawnFlags;
+        int stateId = Block.getStateId(blockState);
+        return stateId < table.length ? table[stateId] : 0;
+    }
+
+    private static byte computeSpawnFlags(IBlockReader world, BlockPos pos, BlockState blockState) {
+        VoxelShape collisionShape = blockState.getCollisionShape(world, pos);
+        byte flags = COMPUTED;
+        if (blockState.canEntitySpawn(world, pos, entityType)) flags |= CAN_SPAWN_ON;
+        if (blockState.canEntitySpawn(world, pos, EntityType.ZOMBIE_PIGMAN)) flags |= CAN_SPAWN_ON_IN_NETHER;
+        if (!Block.doesSideFillSquare(collisionShape, Direction.UP) &&
+                !blockState.canProvidePower() &&
+                !blockState.isIn(BlockTags.RAILS) &&
                 collisionShape.getEnd(Direction.Axis.Y) <= 0 &&
-                upperBlockState.getFluidState().isEmpty() &&
-                (isNether || world.getLightFor(LightType.BLOCK, pos) <= 7);
+                blockState.getFluidState().isEmpty()) flags |= CAN_SPAWN_IN;
+
+        byte[] table = spawnFlags;
+        int stateId = Block.getStateId(blockState);
+        if (stateId >= table.length) {
+            table = Arrays.copyOf(table, Math.max(stateId + 1, Block.BLOCK_STATE_IDS.size()));
+            spawnFlags = table;
+        }
+        table[stateId] = flags;
+        return flags;
     }
 }
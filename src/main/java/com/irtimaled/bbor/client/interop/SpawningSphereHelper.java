@@ -2,53 +2,100 @@ package com.irtimaled.bbor.client.interop;
 
 import com.irtimaled.bbor.client.models.BoundingBoxSpawningSphere;
 import com.irtimaled.bbor.client.models.Point;
+import com.irtimaled.bbor.common.MathHelper;
 import com.irtimaled.bbor.common.models.Coords;
-import net.minecraft.block.BlockState;
-import net.minecraft.client.Minecraft;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.world.World;
 
 public class SpawningSphereHelper {
+    // distances are compared in half blocks so sphere centers snapped to 0.5 stay exact
+    private static final long SPAWN_RADIUS_SQUARED = 4L * BoundingBoxSpawningSphere.SPAWN_RADIUS * BoundingBoxSpawningSphere.SPAWN_RADIUS;
+    private static final long SAFE_RADIUS_SQUARED = 4L * BoundingBoxSpawningSphere.SAFE_RADIUS * BoundingBoxSpawningSphere.SAFE_RADIUS;
+
+    private static Point maskCenter = null;
+    private static ColumnMask sphereMask = null;
+
     public static void findSpawnableSpaces(Point center, Coords coords, int width, int height, BlockProcessor blockProcessor) {
+        ColumnMask mask = getSphereMask(center);
+
         int blockX = coords.getX();
-        int minX = blockX - width;
-        int maxX = blockX + width + 1;
+        int minX = Math.max(mask.getMinX(), blockX - width);
+        int maxX = Math.min(mask.getMaxX(), blockX + width);
 
         int blockZ = coords.getZ();
-        int minZ = blockZ - width;
-        int maxZ = blockZ + width + 1;
+        int minZ = Math.max(mask.getMinZ(), blockZ - width);
+        int maxZ = Math.min(mask.getMaxZ(), blockZ + width);
 
         int blockY = coords.getY();
         int minY = Math.max(1, blockY - height);
-        int maxY = Math.min(255, blockY + height);
-
-        World world = Minecraft.getInstance().world;
-        for (int x = minX; x < maxX; x++) {
-            for (int z = minZ; z < maxZ; z++) {
-                double closestX = x + 0.5D;
-                double closestZ = z + 0.5D;
-                double distance = center.getDistance(new Point(closestX, center.getY(), closestZ));
-                if (distance > BoundingBoxSpawningSphere.SPAWN_RADIUS) continue;
-
-                if (SpawnableBlocksHelper.isBiomeHostileSpawnProof(world, new BlockPos(x, 1, z))) continue;
-
-                BlockState upperBlockState = world.getBlockState(new BlockPos(x, minY - 1, z));
-                for (int y = minY; y < maxY; y++) {
-                    BlockState spawnBlockState = upperBlockState;
-                    BlockPos pos = new BlockPos(x, y, z);
-                    upperBlockState = world.getBlockState(pos);
-                    distance = center.getDistance(new Point(closestX, y, closestZ));
-                    if (isWithinSpawnableZone(distance) &&
-                            SpawnableBlocksHelper.isSpawnable(world, pos, spawnBlockState, upperBlockState)) {
-                        blockProcessor.process(pos);
-                    }
+        int maxY = Math.min(254, blockY + height - 1);
+
+        ScanResults results = SpawnableBlocksHelper.findSpawnableBlocks(minX, minY, minZ, maxX, maxY, maxZ, mask);
+        for (int index = 0; index < results.size(); index++) {
+            blockProcessor.process(new BlockPos(results.getX(index), results.getY(index), results.getZ(index)));
+        }
+    }
+
+    private static synchronized ColumnMask getSphereMask(Point center) {
+        if (sphereMask == null || center.getX() != maskCenter.getX() ||
+                center.getY() != maskCenter.getY() || center.getZ() != maskCenter.getZ()) {
+            sphereMask = buildSphereMask(center);
+            maskCenter = center;
+        }
+        return sphereMask;
+    }
+
+    private static ColumnMask buildSphereMask(Point center) {
+        double centerX = center.getX();
+        double centerY = center.getY();
+        double centerZ = center.getZ();
+        int blockX = MathHelper.floor(centerX);
+        int blockZ = MathHelper.floor(centerZ);
+        int radius = BoundingBoxSpawningSphere.SPAWN_RADIUS + 1;
+        ColumnMask mask = new ColumnMask(blockX - radius, blockZ - radius, blockX + radius, blockZ + radius);
+        for (int x = mask.getMinX(); x <= mask.getMaxX(); x++) {
+            long dx = Math.round((x + 0.5D - centerX) * 2);
+            for (int z = mask.getMinZ(); z <= mask.getMaxZ(); z++) {
+                long dz = Math.round((z + 0.5D - centerZ) * 2);
+                long horizontalSquared = dx * dx + dz * dz;
+                long outerLimit = SPAWN_RADIUS_SQUARED - horizontalSquared;
+                if (outerLimit < 0) continue;
+
+                int minY = getMinY(centerY, outerLimit);
+                int maxY = getMaxY(centerY, outerLimit);
+                long innerLimit = SAFE_RADIUS_SQUARED - horizontalSquared;
+                int innerMinY = innerLimit < 0 ? Integer.MAX_VALUE : getMinY(centerY, innerLimit);
+                int innerMaxY = innerLimit < 0 ? Integer.MIN_VALUE : getMaxY(centerY, innerLimit);
+                if (innerMinY > innerMaxY) {
+                    mask.setRange(x, z, 0, minY, maxY);
+                } else {
+                    mask.setRange(x, z, 0, minY, innerMinY - 1);
+                    mask.setRange(x, z, 1, innerMaxY + 1, maxY);
                 }
             }
         }
+        return mask;
+    }
+
+    private static int getMinY(double centerY, long limit) {
+        double extent = Math.sqrt(limit) / 2;
+        int minY = MathHelper.floor(centerY - extent) + 1;
+        int maxY = MathHelper.floor(centerY + extent);
+        while (minY <= maxY && !isWithin(minY, centerY, limit)) minY++;
+        while (isWithin(minY - 1, centerY, limit)) minY--;
+        return minY;
+    }
+
+    private static int getMaxY(double centerY, long limit) {
+        double extent = Math.sqrt(limit) / 2;
+        int minY = MathHelper.floor(centerY - extent) + 1;
+        int maxY = MathHelper.floor(centerY + extent);
+        while (maxY >= minY && !isWithin(maxY, centerY, limit)) maxY--;
+        while (isWithin(maxY + 1, centerY, limit)) maxY++;
+        return maxY;
     }
 
-    private static boolean isWithinSpawnableZone(double distance) {
-        return distance <= BoundingBoxSpawningSphere.SPAWN_RADIUS &&
-                distance > BoundingBoxSpawningSphere.SAFE_RADIUS;
+    private static boolean isWithin(int y, double centerY, long limit) {
+        double dy = (y - centerY) * 2;
+        return dy * dy <= limit;
     }
 }
@@ -0,0 +1,118 @@
+package com.irtimaled.bbor.client.interop;
+
+import com.irtimaled.bbor.client.events.ChunkSectionsChanged;
+import com.irtimaled.bbor.common.EventBus;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.world.ClientWorld;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+public class WorldSnapshot {
+    private static final int MAX_CAPTURES_PER_FRAME = 16;
+    private static final long EVICTION_INTERVAL = TimeUnit.SECONDS.toNanos(30);
+
+    private static final Map<Long, ChunkSnapshot> chunks = new ConcurrentHashMap<>();
+    private static final Set<Long> requestedChunks = ConcurrentHashMap.newKeySet();
+    private static final Map<Long, Integer> changedSections = new ConcurrentHashMap<>();
+    private static volatile Set<Long> usedChunks = ConcurrentHashMap.newKeySet();
+    private static volatile boolean nether;
+    private static ClientWorld capturedWorld;
+    private static long lastEviction;
+
+    public static ChunkSnapshot getChunk(int chunkX, int chunkZ) {
+        long key = ColumnScanner.getChunkKey(chunkX, chunkZ);
+        usedChunks.add(key);
+        ChunkSnapshot chunk = chunks.get(key);
+        if (chunk == null) requestedChunks.add(key);
+        return chunk;
+    }
+
+    public static boolean isNether() {
+        return nether;
+    }
+
+    static void sectionsChanged(int chunkX, int chunkZ, int sectionMask) {
+        changedSections.merge(ColumnScanner.getChunkKey(chunkX, chunkZ), sectionMask, (a, b) -> a | b);
+    }
+
+    // runs on the client thread once per frame; listeners hear about changes only once the snapshot has them
+    static void update(ClientWorld world) {
+        setWorld(world);
+
+        for (Long key : changedSections.keySet()) {
+            Integer sectionMask = changedSections.remove(key);
+            if (sectionMask == null) continue;
+
+            int chunkX = (int) (key >> 32);
+            int chunkZ = (int) (long) key;
+            ChunkSnapshot chunk = chunks.get(key);
+            if (chunk != null) {
+                if (!world.getChunkProvider().chunkExists(chunkX, chunkZ)) {
+                    chunks.remove(key);
+                } else if (sectionMask == ChunkSectionsChanged.ALL_SECTIONS) {
+                    chunks.put(key, ChunkSnapshot.capture(world, world.getChunk(chunkX, chunkZ)));
+                } else {
+                    chunks.put(key, chunk.update(world, world.getChunk(chunkX, chunkZ), sectionMask));
+                }
+            }
+            EventBus.publish(new ChunkSectionsChanged(chunkX, chunkZ, sectionMask));
+        }
+
+        int captures = 0;
+        for (Iterator<Long> iterator = requestedChunks.iterator(); iterator.hasNext() && captures < MAX_CAPTURES_PER_FRAME; ) {
+            long key = iterator.next();
+            iterator.remove();
+            if (capture(world, (int) (key >> 32), (int) key)) captures++;
+        }
+
+        long now = System.nanoTime();
+        if (now - lastEviction > EVICTION_INTERVAL) {
+            lastEviction = now;
+            Set<Long> used = usedChunks;
+            usedChunks = ConcurrentHashMap.newKeySet();
+            chunks.keySet().retainAll(used);
+        }
+    }
+
+    // for client thread callers that need every loaded chunk in range before scanning
+    public static void captureChunks(int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ) {
+        ClientWorld world = Minecraft.getInstance().world;
+        if (world == null) return;
+
+        setWorld(world);
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                capture(world, chunkX, chunkZ);
+            }
+        }
+    }
+
+    private static void setWorld(ClientWorld world) {
+        if (world == capturedWorld) return;
+
+        chunks.clear();
+        requestedChunks.clear();
+        capturedWorld = world;
+        nether = world.dimension.isNether();
+    }
+
+    private static boolean capture(ClientWorld world, int chunkX, int chunkZ) {
+        long key = ColumnScanner.getChunkKey(chunkX, chunkZ);
+        if (chunks.containsKey(key) || !world.getChunkProvider().chunkExists(chunkX, chunkZ)) return false;
+
+        chunks.put(key, ChunkSnapshot.capture(world, world.getChunk(chunkX, chunkZ)));
+        EventBus.publish(new ChunkSectionsChanged(chunkX, chunkZ, ChunkSectionsChanged.ALL_SECTIONS));
+        return true;
+    }
+
+    public static void clear() {
+        chunks.clear();
+        requestedChunks.clear();
+        changedSections.clear();
+        capturedWorld = null;
+    }
+}
@@ -0,0 +1,48 @@
+package com.irtimaled.bbor.client.models;
+
+import com.irtimaled.bbor.common.BoundingBoxType;
+import com.irtimaled.bbor.common.MathHelper;
+import com.irtimaled.bbor.common.models.AbstractBoundingBox;
+import com.irtimaled.bbor.common.models.Coords;
+
+public class BoundingBoxBiomeBorderStrip extends AbstractBoundingBox {
+    private final Coords start;
+    private final Coords end;
+
+    public BoundingBoxBiomeBorderStrip(Coords start, Coords end) {
+        super(BoundingBoxType.BiomeBorder);
+        this.start = start;
+        this.end = end;
+    }
+
+    @Override
+    public Boolean intersectsBounds(int minX, int minZ, int maxX, int maxZ) {
+        return end.getX() >= minX &&
+                end.getZ() >= minZ &&
+                start.getX() <= maxX &&
+                start.getZ() <= maxZ;
+    }
+
+    @Override
+    protected double getDistanceX(double x) {
+        return x - MathHelper.clamp(x, start.getX(), end.getX());
+    }
+
+    @Override
+    protected double getDistanceY(double y) {
+        return y - start.getY();
+    }
+
+    @Override
+    protected double getDistanceZ(double z) {
+        return z - MathHelper.clamp(z, start.getZ(), end.getZ());
+    }
+
+    public Coords getStart() {
+        return start;
+    }
+
+    public Coords getEnd() {
+        return end;
+    }
+}
@@ -10,7 +10,7 @@ public class BoundingBoxSpawningSphere extends BoundingBoxSphere {
     public static final int SAFE_RADIUS = 24;
     public static final int SPAWN_RADIUS = 128;
 
-    private final Set<BlockPos> blocks = new HashSet<>();
+    private Set<BlockPos> blocks = new HashSet<>();
     private Integer spawnableCount;
 
     public BoundingBoxSpawningSphere(Point point) {
@@ -21,6 +21,10 @@ public class BoundingBoxSpawningSphere extends BoundingBoxSphere {
         return blocks;
     }
 
+    public void setBlocks(Set<BlockPos> blocks) {
+        this.blocks = blocks;
+    }
+
     public boolean isWithinSphere(Point point) {
         return this.getPoint().getDistance(point) <= getRadius() + 0.5D;
     }
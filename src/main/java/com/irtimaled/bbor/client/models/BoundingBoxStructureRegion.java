@@ -0,0 +1,84 @@
+package com.irtimaled.bbor.client.models;
+
+import com.irtimaled.bbor.common.BoundingBoxType;
+import com.irtimaled.bbor.common.MathHelper;
+import com.irtimaled.bbor.common.models.AbstractBoundingBox;
+import com.irtimaled.bbor.common.models.BoundingBoxCuboid;
+import com.irtimaled.bbor.common.models.Coords;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BoundingBoxStructureRegion extends AbstractBoundingBox {
+    private final int originX;
+    private final int originZ;
+    private final List<BoundingBoxCuboid> boundingBoxes = new ArrayList<>();
+    private int minX = Integer.MAX_VALUE;
+    private int minY = Integer.MAX_VALUE;
+    private int minZ = Integer.MAX_VALUE;
+    private int maxX = Integer.MIN_VALUE;
+    private int maxY = Integer.MIN_VALUE;
+    private int maxZ = Integer.MIN_VALUE;
+
+    public BoundingBoxStructureRegion(BoundingBoxType type, int originX, int originZ) {
+        super(type);
+        this.originX = originX;
+        this.originZ = originZ;
+    }
+
+    public void add(BoundingBoxCuboid boundingBox) {
+        boundingBoxes.add(boundingBox);
+
+        Coords minCoords = boundingBox.getMinCoords();
+        Coords maxCoords = boundingBox.getMaxCoords();
+        minX = Math.min(minX, minCoords.getX());
+        minY = Math.min(minY, minCoords.getY());
+        minZ = Math.min(minZ, minCoords.getZ());
+        maxX = Math.max(maxX, maxCoords.getX());
+        maxY = Math.max(maxY, maxCoords.getY());
+        maxZ = Math.max(maxZ, maxCoords.getZ());
+    }
+
+    public List<BoundingBoxCuboid> getBoundingBoxes() {
+        return boundingBoxes;
+    }
+
+    public Coords getMinCoords() {
+        return new Coords(minX, minY, minZ);
+    }
+
+    public Coords getMaxCoords() {
+        return new Coords(maxX, maxY, maxZ);
+    }
+
+    public int getOriginX() {
+        return originX;
+    }
+
+    public int getOriginZ() {
+        return originZ;
+    }
+
+    @Override
+    public Boolean intersectsBounds(int minX, int minZ, int maxX, int maxZ) {
+        return this.maxX >= minX &&
+                this.maxZ >= minZ &&
+                this.minX <= maxX &&
+                this.minZ <= maxZ;
+    }
+
+    @Override
+    protected double getDistanceX(double x) {
+        return x - MathHelper.clamp(x, minX, maxX);
+    }
+
+    @Override
+    protected double getDistanceY(double y) {
+        return y - MathHelper.clamp(y, minY, maxY);
+    }
+
+    @Override
+    protected double getDistanceZ(double z) {
+        return z - MathHelper.clamp(z, minZ, maxZ);
+    }
+}
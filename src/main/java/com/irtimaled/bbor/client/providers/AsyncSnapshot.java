@@ -0,0 +1,79 @@
+package com.irtimaled.bbor.client.providers;
+
+import com.irtimaled.bbor.Logger;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+class AsyncSnapshot<T> {
+    private static final ExecutorService executor = Executors.newFixedThreadPool(
+            Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1)),
+            runnable -> {
+                Thread thread = new Thread(runnable, "BBOR Provider Worker");
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MIN_PRIORITY);
+                return thread;
+            });
+
+    private final T emptyValue;
+    private volatile T value;
+    private Supplier<T> pendingComputation;
+    private boolean running;
+    private int generation;
+
+    AsyncSnapshot(T emptyValue) {
+        this.emptyValue = emptyValue;
+        this.value = emptyValue;
+    }
+
+    T get() {
+        return value;
+    }
+
+    synchronized void request(Supplier<T> computation) {
+        if (running) {
+            pendingComputation = computation;
+            return;
+        }
+        submit(computation, false);
+    }
+
+    synchronized void clear() {
+        generation++;
+        pendingComputation = null;
+        value = emptyValue;
+    }
+
+    private void submit(Supplier<T> computation, boolean retry) {
+        running = true;
+        int generation = this.generation;
+        executor.execute(() -> {
+            T result = null;
+            Supplier<T> failedComputation = null;
+            try {
+                result = computation.get();
+            } catch (Throwable throwable) {
+                Logger.error("Bounding box computation failed", throwable);
+                if (!retry) failedComputation = computation;
+            } finally {
+                complete(generation, result, failedComputation);
+            }
+        });
+    }
+
+    private synchronized void complete(int generation, T result, Supplier<T> failedComputation) {
+        running = false;
+        if (result != null && generation == this.generation) {
+            value = result;
+        }
+        if (pendingComputation != null) {
+            Supplier<T> computation = pendingComputation;
+            pendingComputation = null;
+            submit(computation, false);
+        } else if (failedComputation != null && generation == this.generation) {
+            // providers only request again on change, so give a failed pass one more try
+            submit(failedComputation, true);
+        }
+    }
+}
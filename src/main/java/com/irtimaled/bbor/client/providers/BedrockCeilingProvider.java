@@ -3,8 +3,12 @@ package com.irtimaled.bbor.client.providers;
 import com.irtimaled.bbor.client.Player;
 import com.irtimaled.bbor.client.config.BoundingBoxTypeHelper;
 import com.irtimaled.bbor.client.config.ConfigManager;
+import com.irtimaled.bbor.client.events.ChunkSectionsChanged;
 import com.irtimaled.bbor.client.interop.BedrockCeilingHelper;
 import com.irtimaled.bbor.client.interop.ClientInterop;
+import com.irtimaled.bbor.client.interop.ColumnScanner;
+import com.irtimaled.bbor.client.interop.ScanResults;
+import com.irtimaled.bbor.client.interop.SimulatedRandom;
 import com.irtimaled.bbor.client.models.BoundingBoxBedrockCeiling;
 import com.irtimaled.bbor.common.BoundingBoxType;
 import com.irtimaled.bbor.common.MathHelper;
@@ -12,123 +16,160 @@ import com.irtimaled.bbor.common.models.Coords;
 import com.irtimaled.bbor.common.models.DimensionId;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class BedrockCeilingProvider implements IBoundingBoxProvider<BoundingBoxBedrockCeiling>, ICachingProvider {
     private static final double CHUNK_SIZE = 16d;
-    private static Long lastGameTime = null;
-    private static final Map<String, BedrockChunk> chunks = new HashMap<>();
+    private static final int CEILING_SECTION = 127 >> 4;
+    private static Integer lastPlayerChunkX = null;
+    private static Integer lastPlayerChunkZ = null;
+    private static Integer lastRenderDistanceChunks = null;
+    private static Integer lastCacheDistance = null;
+    private static volatile boolean invalidated = false;
+    private static final Map<Long, BedrockChunk> chunks = new LinkedHashMap<>(16, 0.75F, true);
+    private static final Set<Long> dirtyChunks = ConcurrentHashMap.newKeySet();
+    private static final AsyncSnapshot<Set<BoundingBoxBedrockCeiling>> bedrockCeilings = new AsyncSnapshot<>(new HashSet<>());
 
     private static class BedrockChunk {
         private final Set<BoundingBoxBedrockCeiling> boxes = new HashSet<>();
 
-        public BedrockChunk(int chunkX, int chunkZ) {
-            int chunkStartX = chunkX << 4;
-            int chunkStartZ = chunkZ << 4;
-
-            if (BedrockCeilingHelper.chunkLoaded(chunkX, chunkZ)) findBoxesFromBlockState(chunkStartX, chunkStartZ);
-            else findBoxesFromRNG(chunkX, chunkZ, chunkStartX, chunkStartZ);
-        }
-
-        private void findBoxesFromBlockState(int chunkStartX, int chunkStartZ) {
-            for (int x = 0; x < 16; x++) {
-                for (int z = 0; z < 16; z++) {
-                    Coords coords = getCoordsFromBlockState(chunkStartX + x, chunkStartZ + z);
-                    if (coords != null) {
-                        boxes.add(new BoundingBoxBedrockCeiling(coords));
-                    }
-                }
-            }
+        private void add(Coords coords) {
+            boxes.add(new BoundingBoxBedrockCeiling(coords));
         }
 
-        private Coords getCoordsFromBlockState(int x, int z) {
-            Coords coords = null;
-            for (int y = 127; y >= 123; y--) {
-                if (BedrockCeilingHelper.isBedrock(x, y, z)) {
-                    if (coords == null) {
-                        coords = new Coords(x, y, z);
-                    } else {
-                        return null;
-                    }
-                }
-            }
-            return coords;
-        }
-
-        private void findBoxesFromRNG(int chunkX, int chunkZ, int chunkStartX, int chunkStartZ) {
-            Random random = BedrockCeilingHelper.getRandomForChunk(chunkX, chunkZ);
+        private void findBoxesFromRNG(int chunkX, int chunkZ) {
+            int chunkStartX = chunkX << 4;
+            int chunkStartZ = chunkZ << 4;
+            SimulatedRandom random = BedrockCeilingHelper.getRandomForChunk(chunkX, chunkZ);
 
             // preseed 16x16x3 calls to nextDouble
-            for (int dummy = 0; dummy < 768; dummy++) {
-                random.nextDouble();
-            }
+            random.skipDoubles(768);
             for (int z = 0; z < 16; z++) {
                 for (int x = 0; x < 16; x++) {
                     Coords coords = getBlocksFromRNG(random, chunkStartX + x, chunkStartZ + z);
 
                     if (coords != null) {
-                        boxes.add(new BoundingBoxBedrockCeiling(coords));
+                        add(coords);
                     }
                 }
             }
         }
 
-        private Coords getBlocksFromRNG(Random random, int x, int z) {
+        private Coords getBlocksFromRNG(SimulatedRandom random, int x, int z) {
             int count = 0;
             for (int y = 127; y >= 123; y--) {
                 if (y >= 127 - random.nextInt(5)) {
                     count++;
                 }
             }
-            for (int y = 4; y >= 0; y--) {
-                random.nextInt(5);
-            }
+            random.skipInts(5, 5);
             return count == 1 ? new Coords(x, 127, z) : null;
         }
 
         public Collection<? extends BoundingBoxBedrockCeiling> getBlocks() {
             return boxes;
         }
-
-        public void clear() {
-            boxes.clear();
-        }
     }
 
     public void clearCache() {
-        chunks.values().forEach(BedrockChunk::clear);
-        chunks.clear();
+        lastPlayerChunkX = null;
+        invalidated = true;
+        dirtyChunks.clear();
+        bedrockCeilings.clear();
+    }
+
+    @Override
+    public void invalidate(ChunkSectionsChanged event) {
+        Integer playerChunkX = lastPlayerChunkX;
+        Integer playerChunkZ = lastPlayerChunkZ;
+        Integer cacheDistance = lastCacheDistance;
+        if (!event.containsSection(CEILING_SECTION) || playerChunkX == null || playerChunkZ == null || cacheDistance == null) return;
+
+        int chunkX = event.getChunkX();
+        int chunkZ = event.getChunkZ();
+        if (Math.abs(chunkX - playerChunkX) > cacheDistance || Math.abs(chunkZ - playerChunkZ) > cacheDistance) return;
+
+        dirtyChunks.add(ColumnScanner.getChunkKey(chunkX, chunkZ));
     }
 
     @Override
     public Iterable<BoundingBoxBedrockCeiling> get(DimensionId dimensionId) {
-        boolean shouldRecalculate = shouldRecalculate();
+        Integer renderDistanceChunks = ClientInterop.getRenderDistanceChunks() / 2;
+        Integer cacheDistance = Math.max(renderDistanceChunks, ConfigManager.bedrockCeilingCacheDistance.get());
+        Integer playerChunkX = MathHelper.floor(Player.getX() / CHUNK_SIZE);
+        Integer playerChunkZ = MathHelper.floor(Player.getZ() / CHUNK_SIZE);
+        if (!dirtyChunks.isEmpty() ||
+                !playerChunkX.equals(lastPlayerChunkX) ||
+                !playerChunkZ.equals(lastPlayerChunkZ) ||
+                !renderDistanceChunks.equals(lastRenderDistanceChunks) ||
+                !cacheDistance.equals(lastCacheDistance)) {
+            lastPlayerChunkX = playerChunkX;
+            lastPlayerChunkZ = playerChunkZ;
+            lastRenderDistanceChunks = renderDistanceChunks;
+            lastCacheDistance = cacheDistance;
+            bedrockCeilings.request(() -> getBedrockCeilings(renderDistanceChunks, cacheDistance, playerChunkX, playerChunkZ));
+        }
+        return bedrockCeilings.get();
+    }
 
-        int renderDistanceChunks = ClientInterop.getRenderDistanceChunks() / 2;
-        int playerChunkX = MathHelper.floor(Player.getX() / CHUNK_SIZE);
-        int playerChunkZ = MathHelper.floor(Player.getZ() / CHUNK_SIZE);
+    private static Set<BoundingBoxBedrockCeiling> getBedrockCeilings(int renderDistanceChunks, int cacheDistance, int playerChunkX, int playerChunkZ) {
+        if (invalidated) {
+            invalidated = false;
+            chunks.clear();
+        }
+        for (Iterator<Long> iterator = dirtyChunks.iterator(); iterator.hasNext(); ) {
+            chunks.remove(iterator.next());
+            iterator.remove();
+        }
+
+        int minChunkX = playerChunkX - renderDistanceChunks;
+        int maxChunkX = playerChunkX + renderDistanceChunks;
+        int minChunkZ = playerChunkZ - renderDistanceChunks;
+        int maxChunkZ = playerChunkZ + renderDistanceChunks;
+        Set<Long> missingChunks = new HashSet<>();
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                long key = ColumnScanner.getChunkKey(chunkX, chunkZ);
+                if (!chunks.containsKey(key)) missingChunks.add(key);
+            }
+        }
+        if (!missingChunks.isEmpty()) loadChunks(missingChunks, minChunkX, maxChunkX, minChunkZ, maxChunkZ);
 
         Set<BoundingBoxBedrockCeiling> boxes = new HashSet<>();
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                boxes.addAll(chunks.get(ColumnScanner.getChunkKey(chunkX, chunkZ)).getBlocks());
+            }
+        }
 
-        for (int chunkX = playerChunkX - renderDistanceChunks; chunkX <= playerChunkX + renderDistanceChunks; chunkX++) {
-            for (int chunkZ = playerChunkZ - renderDistanceChunks; chunkZ <= playerChunkZ + renderDistanceChunks; chunkZ++) {
-                String key = String.format("%d,%d", chunkX, chunkZ);
-                if (shouldRecalculate || !chunks.containsKey(key)) {
-                    chunks.put(key, new BedrockChunk(chunkX, chunkZ));
-                }
-                BedrockChunk chunk = chunks.get(key);
-                boxes.addAll(chunk.getBlocks());
+        int visibleChunks = (renderDistanceChunks * 2 + 1) * (renderDistanceChunks * 2 + 1);
+        Iterator<Map.Entry<Long, BedrockChunk>> iterator = chunks.entrySet().iterator();
+        for (int index = chunks.size() - visibleChunks; index > 0 && iterator.hasNext(); index--) {
+            long key = iterator.next().getKey();
+            int chunkX = (int) (key >> 32);
+            int chunkZ = (int) key;
+            if (Math.abs(chunkX - playerChunkX) > cacheDistance || Math.abs(chunkZ - playerChunkZ) > cacheDistance) {
+                iterator.remove();
             }
         }
         return boxes;
     }
 
-    public boolean shouldRecalculate() {
-        long gameTime = ClientInterop.getGameTime();
-        if (!((Long) gameTime).equals(lastGameTime) && gameTime % 2L == 0L) {
-            lastGameTime = gameTime;
-            return true;
+    private static void loadChunks(Set<Long> missingChunks, int minChunkX, int maxChunkX, int minChunkZ, int maxChunkZ) {
+        ScanResults results = ColumnScanner.scanColumns(minChunkX << 4, minChunkZ << 4, (maxChunkX << 4) + 15, (maxChunkZ << 4) + 15,
+                missingChunks::contains, BedrockCeilingHelper::getCeilingY);
+        for (long key : missingChunks) {
+            int chunkX = (int) (key >> 32);
+            int chunkZ = (int) key;
+            BedrockChunk chunk = new BedrockChunk();
+            if (!BedrockCeilingHelper.chunkLoaded(chunkX, chunkZ)) chunk.findBoxesFromRNG(chunkX, chunkZ);
+            chunks.put(key, chunk);
+        }
+        for (int index = 0; index < results.size(); index++) {
+            int x = results.getX(index);
+            int z = results.getZ(index);
+            chunks.get(ColumnScanner.getChunkKey(x >> 4, z >> 4)).add(new Coords(x, results.getY(index), z));
         }
-        return false;
     }
 
     @Override
@@ -3,22 +3,28 @@ package com.irtimaled.bbor.client.providers;
 import com.irtimaled.bbor.client.Player;
 import com.irtimaled.bbor.client.config.BoundingBoxTypeHelper;
 import com.irtimaled.bbor.client.config.ConfigManager;
-import com.irtimaled.bbor.client.interop.BiomeBorderHelper;
+import com.irtimaled.bbor.client.events.ChunkSectionsChanged;
+import com.irtimaled.bbor.client.interop.ColumnScanner;
 import com.irtimaled.bbor.client.models.BoundingBoxBiomeBorder;
+import com.irtimaled.bbor.client.models.BoundingBoxBiomeBorderStrip;
 import com.irtimaled.bbor.common.BoundingBoxType;
 import com.irtimaled.bbor.common.MathHelper;
 import com.irtimaled.bbor.common.models.Coords;
 import com.irtimaled.bbor.common.models.DimensionId;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
-public class BiomeBorderProvider implements IBoundingBoxProvider<BoundingBoxBiomeBorder>, ICachingProvider {
+public class BiomeBorderProvider implements IBoundingBoxProvider<BoundingBoxBiomeBorderStrip>, ICachingProvider {
     private static Coords lastPlayerCoords = null;
     private static Boolean lastRenderAllTransitions = null;
     private static Integer lastRenderDistance = null;
     private static Integer lastMaxY = null;
-    private static Map<Coords, BoundingBoxBiomeBorder> lastBorders = new HashMap<>();
+    private static final AsyncSnapshot<List<BoundingBoxBiomeBorderStrip>> biomeBorders = new AsyncSnapshot<>(new ArrayList<>());
+    private static final Map<Coords, BoundingBoxBiomeBorder> borders = new HashMap<>();
+    private static BiomeGrid biomeGrid = null;
+    private static final Set<Long> dirtyChunks = ConcurrentHashMap.newKeySet();
+    private static volatile boolean invalidated = false;
 
     @Override
     public boolean canProvide(DimensionId dimensionId) {
@@ -26,12 +32,13 @@ public class BiomeBorderProvider implements IBoundingBoxProvider<BoundingBoxBiom
     }
 
     @Override
-    public Iterable<BoundingBoxBiomeBorder> get(DimensionId dimensionId) {
+    public Iterable<BoundingBoxBiomeBorderStrip> get(DimensionId dimensionId) {
         Coords playerCoords = Player.getCoords();
         Integer renderDistance = ConfigManager.biomeBordersRenderDistance.get();
         Boolean renderAllTransitions = !ConfigManager.renderOnlyCurrentBiome.get();
         Integer maxY = (int) Player.getMaxY(ConfigManager.biomeBordersMaxY.get());
-        if (!playerCoords.equals(lastPlayerCoords) ||
+        if (!dirtyChunks.isEmpty() ||
+                !playerCoords.equals(lastPlayerCoords) ||
                 !renderDistance.equals(lastRenderDistance) ||
                 renderAllTransitions != lastRenderAllTransitions ||
                 !maxY.equals(lastMaxY)) {
@@ -39,66 +46,123 @@ public class BiomeBorderProvider implements IBoundingBoxProvider<BoundingBoxBiom
             lastRenderDistance = renderDistance;
             lastRenderAllTransitions = renderAllTransitions;
             lastMaxY = maxY;
-            lastBorders = getBiomeBorders();
+            biomeBorders.request(() -> getBiomeBorders(playerCoords, renderDistance, renderAllTransitions, maxY));
         }
-        return lastBorders.values();
+        return biomeBorders.get();
     }
 
     public void clearCache() {
-        lastBorders = new HashMap<>();
+        biomeBorders.clear();
+        invalidated = true;
+        dirtyChunks.clear();
         lastPlayerCoords = null;
     }
 
-    private Map<Coords, BoundingBoxBiomeBorder> getBiomeBorders() {
-        int renderDistance = lastRenderDistance;
+    @Override
+    public void invalidate(ChunkSectionsChanged event) {
+        // biomes only change when a whole chunk is loaded or unloaded
         Coords playerCoords = lastPlayerCoords;
-        boolean renderAllTransitions = lastRenderAllTransitions;
-        int maxY = lastMaxY;
+        if (event.getSectionMask() != ChunkSectionsChanged.ALL_SECTIONS || playerCoords == null) return;
 
-        int width = MathHelper.floor(Math.pow(2, 3 + renderDistance));
+        int width = MathHelper.floor(Math.pow(2, 3 + lastRenderDistance));
+        if (event.intersects(playerCoords.getX() - width, playerCoords.getZ() - width,
+                playerCoords.getX() + width, playerCoords.getZ() + width)) {
+            dirtyChunks.add(ColumnScanner.getChunkKey(event.getChunkX(), event.getChunkZ()));
+        }
+    }
+
+    private static List<BoundingBoxBiomeBorderStrip> getStrips(boolean renderAllTransitions, int playerBiomeId, int maxY) {
+        EdgeMerger edgesAlongX = new EdgeMerger();
+        EdgeMerger edgesAlongZ = new EdgeMerger();
+        for (BoundingBoxBiomeBorder border : borders.values()) {
+            Coords coords = border.getCoords();
+            int x = coords.getX();
+            int z = coords.getZ();
+            if (!renderAllTransitions && biomeGrid.get(x, z) != playerBiomeId) continue;
 
-        int blockX = playerCoords.getX();
-        int minX = blockX - width;
-        int maxX = blockX + width;
+            if (border.renderNorth()) edgesAlongX.add(z, x);
+            if (border.renderWest()) edgesAlongZ.add(x, z);
+            if (renderAllTransitions) continue;
 
-        int blockZ = playerCoords.getZ();
-        int minZ = blockZ - width;
-        int maxZ = blockZ + width;
+            if (border.renderSouth()) edgesAlongX.add(z + 1, x);
+            if (border.renderEast()) edgesAlongZ.add(x + 1, z);
+        }
+
+        List<BoundingBoxBiomeBorderStrip> strips = new ArrayList<>();
+        edgesAlongX.merge((z, minX, maxX) ->
+                strips.add(new BoundingBoxBiomeBorderStrip(new Coords(minX, maxY, z), new Coords(maxX, maxY, z))));
+        edgesAlongZ.merge((x, minZ, maxZ) ->
+                strips.add(new BoundingBoxBiomeBorderStrip(new Coords(x, maxY, minZ), new Coords(x, maxY, maxZ))));
+        return strips;
+    }
 
+    private static List<BoundingBoxBiomeBorderStrip> getBiomeBorders(Coords playerCoords, int renderDistance, boolean renderAllTransitions, int maxY) {
+        int width = MathHelper.floor(Math.pow(2, 3 + renderDistance));
         int size = (width * 2) + 1;
-        int[][] biomeIds = new int[size][size];
-        for (int x = minX; x <= maxX; x++) {
-            int matchX = (x - minX);
-            for (int z = minZ; z <= maxZ; z++) {
-                int matchZ = (z - minZ);
-                biomeIds[matchX][matchZ] = BiomeBorderHelper.getBiomeId(x, maxY, z);
+        int minX = playerCoords.getX() - width;
+        int minZ = playerCoords.getZ() - width;
+
+        if (invalidated || biomeGrid == null || !biomeGrid.isCompatible(size, maxY)) {
+            invalidated = false;
+            biomeGrid = new BiomeGrid(size, maxY);
+            borders.clear();
+        }
+
+        boolean wasSampled = biomeGrid.isSampled();
+        int lastInnerMinX = biomeGrid.getMinX() + 1;
+        int lastInnerMaxX = biomeGrid.getMinX() + size - 3;
+        int lastInnerMinZ = biomeGrid.getMinZ() + 1;
+        int lastInnerMaxZ = biomeGrid.getMinZ() + size - 3;
+        biomeGrid.moveTo(minX, minZ);
+
+        int innerMinX = minX + 1;
+        int innerMaxX = minX + size - 3;
+        int innerMinZ = minZ + 1;
+        int innerMaxZ = minZ + size - 3;
+        borders.keySet().removeIf(coords -> coords.getX() < innerMinX || coords.getX() > innerMaxX ||
+                coords.getZ() < innerMinZ || coords.getZ() > innerMaxZ);
+
+        for (int x = innerMinX; x <= innerMaxX; x++) {
+            if (wasSampled && x >= lastInnerMinX && x <= lastInnerMaxX) {
+                updateBorders(x, innerMinZ, Math.min(innerMaxZ, lastInnerMinZ - 1), maxY);
+                updateBorders(x, Math.max(innerMinZ, lastInnerMaxZ + 1), innerMaxZ, maxY);
+            } else {
+                updateBorders(x, innerMinZ, innerMaxZ, maxY);
+            }
+        }
+
+        for (Iterator<Long> iterator = dirtyChunks.iterator(); iterator.hasNext(); ) {
+            long key = iterator.next();
+            iterator.remove();
+            int chunkMinX = (int) (key >> 32) << 4;
+            int chunkMinZ = (int) key << 4;
+            biomeGrid.resample(chunkMinX, chunkMinX + 15, chunkMinZ, chunkMinZ + 15);
+
+            // borders next to the chunk compare against its columns too
+            int borderMinZ = Math.max(innerMinZ, chunkMinZ - 1);
+            int borderMaxZ = Math.min(innerMaxZ, chunkMinZ + 16);
+            for (int x = Math.max(innerMinX, chunkMinX - 1); x <= Math.min(innerMaxX, chunkMinX + 16); x++) {
+                updateBorders(x, borderMinZ, borderMaxZ, maxY);
             }
         }
 
-        int playerBiomeId = BiomeBorderHelper.getBiomeId(playerCoords);
-
-        Map<Coords, BoundingBoxBiomeBorder> borders = new HashMap<>();
-        for (int matchX = 1; matchX < size - 2; matchX++) {
-            for (int matchZ = 1; matchZ < size - 2; matchZ++) {
-                int x = matchX + minX;
-                int z = matchZ + minZ;
-                int biomeId = biomeIds[matchX][matchZ];
-                if (renderAllTransitions || biomeId == playerBiomeId) {
-                    Coords coords = new Coords(x, maxY, z);
-                    if (lastBorders.containsKey(coords)) {
-                        borders.put(coords, lastBorders.get(coords));
-                    } else {
-                        boolean north = biomeIds[matchX][matchZ - 1] != biomeId;
-                        boolean east = biomeIds[matchX + 1][matchZ] != biomeId;
-                        boolean south = biomeIds[matchX][matchZ + 1] != biomeId;
-                        boolean west = biomeIds[matchX - 1][matchZ] != biomeId;
-                        if (north || east || south || west) {
-                            borders.put(coords, new BoundingBoxBiomeBorder(coords, north, east, south, west));
-                        }
-                    }
-                }
+        int playerBiomeId = biomeGrid.get(playerCoords.getX(), playerCoords.getZ());
+        return getStrips(renderAllTransitions, playerBiomeId, maxY);
+    }
+
+    private static void updateBorders(int x, int minZ, int maxZ, int maxY) {
+        for (int z = minZ; z <= maxZ; z++) {
+            int biomeId = biomeGrid.get(x, z);
+            boolean north = biomeGrid.get(x, z - 1) != biomeId;
+            boolean east = biomeGrid.get(x + 1, z) != biomeId;
+            boolean south = biomeGrid.get(x, z + 1) != biomeId;
+            boolean west = biomeGrid.get(x - 1, z) != biomeId;
+            Coords coords = new Coords(x, maxY, z);
+            if (north || east || south || west) {
+                borders.put(coords, new BoundingBoxBiomeBorder(coords, north, east, south, west));
+            } else {
+                borders.remove(coords);
             }
         }
-        return borders;
     }
 }
@@ -0,0 +1,82 @@
+package com.irtimaled.bbor.client.providers;
+
+import com.irtimaled.bbor.client.interop.BiomeBorderHelper;
+
+class BiomeGrid {
+    private final int size;
+    private final int y;
+    private final int[] biomeIds;
+    private int minX;
+    private int minZ;
+    private boolean sampled;
+
+    BiomeGrid(int size, int y) {
+        this.size = size;
+        this.y = y;
+        this.biomeIds = new int[size * size];
+    }
+
+    boolean isCompatible(int size, int y) {
+        return this.size == size && this.y == y;
+    }
+
+    boolean isSampled() {
+        return sampled;
+    }
+
+    int getMinX() {
+        return minX;
+    }
+
+    int getMinZ() {
+        return minZ;
+    }
+
+    int get(int x, int z) {
+        return biomeIds[index(x, z)];
+    }
+
+    void moveTo(int minX, int minZ) {
+        int maxX = minX + size - 1;
+        int maxZ = minZ + size - 1;
+        if (!sampled || Math.abs(minX - this.minX) >= size || Math.abs(minZ - this.minZ) >= size) {
+            sample(minX, maxX, minZ, maxZ);
+        } else {
+            int oldMaxX = this.minX + size - 1;
+            int oldMaxZ = this.minZ + size - 1;
+            for (int x = minX; x <= maxX; x++) {
+                if (x < this.minX || x > oldMaxX) {
+                    sample(x, x, minZ, maxZ);
+                } else {
+                    if (minZ < this.minZ) sample(x, x, minZ, this.minZ - 1);
+                    if (maxZ > oldMaxZ) sample(x, x, oldMaxZ + 1, maxZ);
+                }
+            }
+        }
+        this.minX = minX;
+        this.minZ = minZ;
+        this.sampled = true;
+    }
+
+    void resample(int minX, int maxX, int minZ, int maxZ) {
+        minX = Math.max(minX, this.minX);
+        maxX = Math.min(maxX, this.minX + size - 1);
+        minZ = Math.max(minZ, this.minZ);
+        maxZ = Math.min(maxZ, this.minZ + size - 1);
+        if (sampled && minX <= maxX && minZ <= maxZ) sample(minX, maxX, minZ, maxZ);
+    }
+
+    private void sample(int minX, int maxX, int minZ, int maxZ) {
+        int[] sampled = BiomeBorderHelper.getBiomeIds(minX, maxX, minZ, maxZ);
+        int index = 0;
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                biomeIds[index(x, z)] = sampled[index++];
+            }
+        }
+    }
+
+    private int index(int x, int z) {
+        return Math.floorMod(x, size) * size + Math.floorMod(z, size);
+    }
+}
@@ -5,55 +5,142 @@ import com.irtimaled.bbor.client.Player;
 import com.irtimaled.bbor.client.config.BoundingBoxTypeHelper;
 import com.irtimaled.bbor.client.config.ConfigManager;
 import com.irtimaled.bbor.client.interop.ClientInterop;
+import com.irtimaled.bbor.client.models.BoundingBoxStructureRegion;
 import com.irtimaled.bbor.common.BoundingBoxCache;
+import com.irtimaled.bbor.common.BoundingBoxType;
 import com.irtimaled.bbor.common.MathHelper;
+import com.irtimaled.bbor.common.TypeHelper;
 import com.irtimaled.bbor.common.models.AbstractBoundingBox;
+import com.irtimaled.bbor.common.models.BoundingBoxCuboid;
+import com.irtimaled.bbor.common.models.Coords;
 import com.irtimaled.bbor.common.models.DimensionId;
 
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
 
 public class CacheProvider implements IBoundingBoxProvider<AbstractBoundingBox> {
     private static final int CHUNK_SIZE = 16;
 
     private final GetCache getCache;
+    private final Map<BoundingBoxCache.Cell, CellRegions> cellRegions = new WeakHashMap<>();
 
     public CacheProvider(GetCache getCache) {
         this.getCache = getCache;
     }
 
-    private static boolean isWithinRenderDistance(AbstractBoundingBox boundingBox) {
+    @Override
+    public Iterable<AbstractBoundingBox> get(DimensionId dimensionId) {
+        BoundingBoxCache cache = getCache.apply(dimensionId);
+        if (cache == null) return Collections.emptyList();
+
+        boolean outerBoxesOnly = ConfigManager.outerBoxesOnly.get();
+
         int renderDistanceBlocks = ClientInterop.getRenderDistanceChunks() * CHUNK_SIZE;
         int minX = MathHelper.floor(Player.getX() - renderDistanceBlocks);
         int maxX = MathHelper.floor(Player.getX() + renderDistanceBlocks);
         int minZ = MathHelper.floor(Player.getZ() - renderDistanceBlocks);
         int maxZ = MathHelper.floor(Player.getZ() + renderDistanceBlocks);
 
-        return boundingBox.intersectsBounds(minX, minZ, maxX, maxZ);
+        List<AbstractBoundingBox> boundingBoxes = new ArrayList<>();
+        cache.forEachCellWithin(minX, minZ, maxX, maxZ, cell -> {
+            CellRegions regions = cellRegions.get(cell);
+            if (regions == null || !regions.isCurrent(cell.getVersion(), outerBoxesOnly)) {
+                regions = new CellRegions(cell, cache, outerBoxesOnly);
+                cellRegions.put(cell, regions);
+            }
+            for (Map.Entry<BoundingBoxType, List<AbstractBoundingBox>> entry : regions.boundingBoxesByType.entrySet()) {
+                if (!BoundingBoxTypeHelper.shouldRender(entry.getKey())) continue;
+
+                for (AbstractBoundingBox boundingBox : entry.getValue()) {
+                    if (boundingBox.intersectsBounds(minX, minZ, maxX, maxZ)) {
+                        boundingBoxes.add(boundingBox);
+                    }
+                }
+                ClippedRegion region = regions.regionsByType.get(entry.getKey());
+                BoundingBoxStructureRegion clippedRegion = region == null ? null : region.clip(minX, minZ, maxX, maxZ);
+                if (clippedRegion != null) boundingBoxes.add(clippedRegion);
+            }
+        });
+        return boundingBoxes;
     }
 
-    @Override
-    public Iterable<AbstractBoundingBox> get(DimensionId dimensionId) {
-        Boolean outerBoxesOnly = ConfigManager.outerBoxesOnly.get();
+    private static class CellRegions {
+        private final int version;
+        private final boolean outerBoxesOnly;
+        private final Map<BoundingBoxType, List<AbstractBoundingBox>> boundingBoxesByType = new HashMap<>();
+        private final Map<BoundingBoxType, ClippedRegion> regionsByType = new HashMap<>();
 
-        Set<AbstractBoundingBox> boundingBoxes = new HashSet<>();
-        BoundingBoxCache cache = getCache.apply(dimensionId);
-        if (cache != null) {
-            for (Map.Entry<AbstractBoundingBox, Set<AbstractBoundingBox>> entry : cache.getBoundingBoxes().entrySet()) {
-                AbstractBoundingBox key = entry.getKey();
-                if (BoundingBoxTypeHelper.shouldRender(key.getType()) && isWithinRenderDistance(key)) {
-                    if (!outerBoxesOnly) {
-                        Set<AbstractBoundingBox> children = entry.getValue();
-                        if (children != null && children.size() > 0) {
-                            boundingBoxes.addAll(children);
-                            continue;
-                        }
+        private CellRegions(BoundingBoxCache.Cell cell, BoundingBoxCache cache, boolean outerBoxesOnly) {
+            this.version = cell.getVersion();
+            this.outerBoxesOnly = outerBoxesOnly;
+
+            Map<AbstractBoundingBox, Set<AbstractBoundingBox>> cachedBoundingBoxes = cache.getBoundingBoxes();
+            for (Map.Entry<BoundingBoxType, Set<AbstractBoundingBox>> entry : cell.getKeysByType().entrySet()) {
+                BoundingBoxType type = entry.getKey();
+                BoundingBoxStructureRegion region = new BoundingBoxStructureRegion(type, cell.getOriginX(), cell.getOriginZ());
+                List<AbstractBoundingBox> boundingBoxes = new ArrayList<>();
+                for (AbstractBoundingBox key : entry.getValue()) {
+                    Set<AbstractBoundingBox> children = cachedBoundingBoxes.get(key);
+                    if (!outerBoxesOnly && children != null && children.size() > 0) {
+                        children.forEach(child -> add(region, boundingBoxes, child));
+                        continue;
                     }
-                    boundingBoxes.add(key);
+                    add(region, boundingBoxes, key);
+                }
+                if (region.getBoundingBoxes().size() > 0) {
+                    regionsByType.put(type, new ClippedRegion(region));
                 }
+                boundingBoxesByType.put(type, boundingBoxes);
             }
         }
-        return boundingBoxes;
+
+        private static void add(BoundingBoxStructureRegion region, List<AbstractBoundingBox> boundingBoxes, AbstractBoundingBox boundingBox) {
+            BoundingBoxCuboid cuboid = TypeHelper.as(boundingBox, BoundingBoxCuboid.class);
+            if (cuboid != null) {
+                region.add(cuboid);
+            } else {
+                boundingBoxes.add(boundingBox);
+            }
+        }
+
+        private boolean isCurrent(int version, boolean outerBoxesOnly) {
+            return this.version == version && this.outerBoxesOnly == outerBoxesOnly;
+        }
+    }
+
+    private static class ClippedRegion {
+        private final BoundingBoxStructureRegion region;
+        private BitSet clippedIndexes = new BitSet();
+        private BoundingBoxStructureRegion clippedRegion;
+
+        private ClippedRegion(BoundingBoxStructureRegion region) {
+            this.region = region;
+        }
+
+        private BoundingBoxStructureRegion clip(int minX, int minZ, int maxX, int maxZ) {
+            if (!region.intersectsBounds(minX, minZ, maxX, maxZ)) return null;
+
+            Coords minCoords = region.getMinCoords();
+            Coords maxCoords = region.getMaxCoords();
+            if (minCoords.getX() >= minX && minCoords.getZ() >= minZ && maxCoords.getX() <= maxX && maxCoords.getZ() <= maxZ) {
+                return region;
+            }
+
+            List<BoundingBoxCuboid> boundingBoxes = region.getBoundingBoxes();
+            BitSet indexes = new BitSet(boundingBoxes.size());
+            for (int index = 0; index < boundingBoxes.size(); index++) {
+                if (boundingBoxes.get(index).intersectsBounds(minX, minZ, maxX, maxZ)) indexes.set(index);
+            }
+            if (indexes.isEmpty()) return null;
+
+            // keep the same instance while the visible subset is unchanged so its retained geometry is reused
+            if (clippedRegion == null || !indexes.equals(clippedIndexes)) {
+                clippedRegion = new BoundingBoxStructureRegion(region.getType(), region.getOriginX(), region.getOriginZ());
+                for (int index = indexes.nextSetBit(0); index >= 0; index = indexes.nextSetBit(index + 1)) {
+                    clippedRegion.add(boundingBoxes.get(index));
+                }
+                clippedIndexes = indexes;
+            }
+            return clippedRegion;
+        }
     }
 }
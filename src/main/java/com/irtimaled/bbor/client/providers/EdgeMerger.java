@@ -0,0 +1,41 @@
+package com.irtimaled.bbor.client.providers;
+
+import java.util.Arrays;
+
+class EdgeMerger {
+    private long[] edges = new long[64];
+    private int count;
+
+    void add(int line, int position) {
+        if (count == edges.length) {
+            edges = Arrays.copyOf(edges, count * 2);
+        }
+        edges[count++] = getKey(line, position);
+    }
+
+    void merge(RunConsumer consumer) {
+        Arrays.sort(edges, 0, count);
+        int index = 0;
+        while (index < count) {
+            long first = edges[index];
+            int line = (int) (first >> 32);
+            int start = (int) first ^ Integer.MIN_VALUE;
+            int end = start + 1;
+            index++;
+            while (index < count && edges[index] <= getKey(line, end)) {
+                if (edges[index] == getKey(line, end)) end++;
+                index++;
+            }
+            consumer.accept(line, start, end);
+        }
+        count = 0;
+    }
+
+    private static long getKey(int line, int position) {
+        return ((long) line << 32) | ((position ^ Integer.MIN_VALUE) & 0xFFFFFFFFL);
+    }
+
+    interface RunConsumer {
+        void accept(int line, int start, int end);
+    }
+}
@@ -3,8 +3,10 @@ package com.irtimaled.bbor.client.providers;
 import com.irtimaled.bbor.client.Player;
 import com.irtimaled.bbor.client.config.BoundingBoxTypeHelper;
 import com.irtimaled.bbor.client.config.ConfigManager;
-import com.irtimaled.bbor.client.interop.BiomeBorderHelper;
+import com.irtimaled.bbor.client.events.ChunkSectionsChanged;
+import com.irtimaled.bbor.client.interop.ColumnScanner;
 import com.irtimaled.bbor.client.interop.FlowerForestHelper;
+import com.irtimaled.bbor.client.interop.ScanResults;
 import com.irtimaled.bbor.client.models.BoundingBoxFlowerForest;
 import com.irtimaled.bbor.common.BoundingBoxType;
 import com.irtimaled.bbor.common.MathHelper;
@@ -13,14 +15,23 @@ import com.irtimaled.bbor.common.models.DimensionId;
 import net.minecraft.util.registry.Registry;
 import net.minecraft.world.biome.Biomes;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class FlowerForestProvider implements IBoundingBoxProvider<BoundingBoxFlowerForest>, ICachingProvider {
     public static final int FLOWER_FOREST_BIOME_ID = Registry.BIOME.getId(Biomes.FLOWER_FOREST);
     private static Coords lastPlayerCoords = null;
     private static Integer lastRenderDistance = null;
-    private static Map<Coords, BoundingBoxFlowerForest> lastBoundingBoxes = new HashMap<>();
+    private static final AsyncSnapshot<List<BoundingBoxFlowerForest>> flowerForests = new AsyncSnapshot<>(new ArrayList<>());
+    private static final Map<Coords, BoundingBoxFlowerForest> columns = new HashMap<>();
+    private static final Set<Long> dirtyChunks = ConcurrentHashMap.newKeySet();
+    private static volatile boolean invalidated = false;
+    private static int lastWidth;
+    private static int lastMinX;
+    private static int lastMaxX;
+    private static int lastMinZ;
+    private static int lastMaxZ;
+    private static boolean sampled = false;
 
     @Override
     public boolean canProvide(DimensionId dimensionId) {
@@ -31,58 +42,91 @@ public class FlowerForestProvider implements IBoundingBoxProvider<BoundingBoxFlo
     public Iterable<BoundingBoxFlowerForest> get(DimensionId dimensionId) {
         Coords playerCoords = Player.getCoords();
         Integer renderDistance = ConfigManager.flowerForestsRenderDistance.get();
-        if (!playerCoords.equals(lastPlayerCoords) || !renderDistance.equals(lastRenderDistance)) {
+        if (!dirtyChunks.isEmpty() || !playerCoords.equals(lastPlayerCoords) || !renderDistance.equals(lastRenderDistance)) {
             lastPlayerCoords = playerCoords;
             lastRenderDistance = renderDistance;
-            lastBoundingBoxes = getBoundingBoxes();
+            flowerForests.request(() -> getBoundingBoxes(playerCoords, renderDistance));
         }
-        return lastBoundingBoxes.values();
+        return flowerForests.get();
     }
 
     public void clearCache() {
-        lastBoundingBoxes = new HashMap<>();
+        flowerForests.clear();
+        invalidated = true;
+        dirtyChunks.clear();
         lastPlayerCoords = null;
     }
 
-    private Map<Coords, BoundingBoxFlowerForest> getBoundingBoxes() {
-        int renderDistance = lastRenderDistance;
+    @Override
+    public void invalidate(ChunkSectionsChanged event) {
         Coords playerCoords = lastPlayerCoords;
+        if (playerCoords == null) return;
+
+        int width = MathHelper.floor(Math.pow(2, 2 + lastRenderDistance));
+        if (event.intersects(playerCoords.getX() - width, playerCoords.getZ() - width,
+                playerCoords.getX() + width, playerCoords.getZ() + width)) {
+            dirtyChunks.add(ColumnScanner.getChunkKey(event.getChunkX(), event.getChunkZ()));
+        }
+    }
 
+    private static List<BoundingBoxFlowerForest> getBoundingBoxes(Coords playerCoords, int renderDistance) {
         int width = MathHelper.floor(Math.pow(2, 2 + renderDistance));
+        int minX = playerCoords.getX() - width;
+        int maxX = playerCoords.getX() + width;
+        int minZ = playerCoords.getZ() - width;
+        int maxZ = playerCoords.getZ() + width;
+
+        if (invalidated || width != lastWidth) {
+            invalidated = false;
+            lastWidth = width;
+            columns.clear();
+            sampled = false;
+        }
 
-        int blockX = playerCoords.getX();
-        int minX = blockX - width;
-        int maxX = blockX + width;
+        columns.values().removeIf(boundingBox -> !boundingBox.intersectsBounds(minX, minZ, maxX, maxZ));
+        if (sampled) {
+            int overlapMinX = Math.max(minX, lastMinX);
+            int overlapMaxX = Math.min(maxX, lastMaxX);
+            updateColumns(minX, Math.min(maxX, lastMinX - 1), minZ, maxZ);
+            updateColumns(Math.max(minX, lastMaxX + 1), maxX, minZ, maxZ);
+            updateColumns(overlapMinX, overlapMaxX, minZ, Math.min(maxZ, lastMinZ - 1));
+            updateColumns(overlapMinX, overlapMaxX, Math.max(minZ, lastMaxZ + 1), maxZ);
+        } else {
+            updateColumns(minX, maxX, minZ, maxZ);
+        }
+        for (Iterator<Long> iterator = dirtyChunks.iterator(); iterator.hasNext(); ) {
+            long key = iterator.next();
+            iterator.remove();
+            int chunkMinX = (int) (key >> 32) << 4;
+            int chunkMinZ = (int) key << 4;
+            updateColumns(Math.max(minX, chunkMinX), Math.min(maxX, chunkMinX + 15),
+                    Math.max(minZ, chunkMinZ), Math.min(maxZ, chunkMinZ + 15));
+        }
+
+        lastMinX = minX;
+        lastMaxX = maxX;
+        lastMinZ = minZ;
+        lastMaxZ = maxZ;
+        sampled = true;
 
-        int blockZ = playerCoords.getZ();
-        int minZ = blockZ - width;
-        int maxZ = blockZ + width;
+        return new ArrayList<>(columns.values());
+    }
+
+    private static void updateColumns(int minX, int maxX, int minZ, int maxZ) {
+        if (minX > maxX || minZ > maxZ) return;
 
-        Map<Coords, BoundingBoxFlowerForest> boundingBoxes = new HashMap<>();
         for (int x = minX; x <= maxX; x++) {
             for (int z = minZ; z <= maxZ; z++) {
-                int biomeId = BiomeBorderHelper.getBiomeId(x, 255, z);
-                if (biomeId == FLOWER_FOREST_BIOME_ID) {
-                    int y = getMaxYForPos(x, playerCoords.getY() + 1, z);
-                    if (y == 0) {
-                        continue;
-                    }
-                    Coords coords = new Coords(x, y + 1, z);
-                    BoundingBoxFlowerForest boundingBox = lastBoundingBoxes.containsKey(coords)
-                            ? lastBoundingBoxes.get(coords)
-                            : new BoundingBoxFlowerForest(coords, FlowerForestHelper.getFlowerColorAtPos(coords));
-                    boundingBoxes.put(coords, boundingBox);
-                }
+                columns.remove(new Coords(x, 0, z));
             }
         }
-        return boundingBoxes;
-    }
 
-    private static int getMaxYForPos(int x, int y, int z) {
-        while (y > 0) {
-            if (FlowerForestHelper.canGrowFlower(x, y, z)) return y;
-            y--;
+        ScanResults results = ColumnScanner.scanColumns(minX, minZ, maxX, maxZ, FlowerForestHelper::getSurfaceY);
+        for (int index = 0; index < results.size(); index++) {
+            int x = results.getX(index);
+            int z = results.getZ(index);
+            Coords coords = new Coords(x, results.getY(index) + 1, z);
+            columns.put(new Coords(x, 0, z), new BoundingBoxFlowerForest(coords, FlowerForestHelper.getFlowerColorAtPos(coords)));
         }
-        return 0;
     }
 }
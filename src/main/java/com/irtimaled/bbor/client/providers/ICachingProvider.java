@@ -1,5 +1,10 @@
 package com.irtimaled.bbor.client.providers;
 
+import com.irtimaled.bbor.client.events.ChunkSectionsChanged;
+
 public interface ICachingProvider {
     void clearCache();
+
+    default void invalidate(ChunkSectionsChanged event) {
+    }
 }
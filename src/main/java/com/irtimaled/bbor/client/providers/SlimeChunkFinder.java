@@ -0,0 +1,169 @@
+package com.irtimaled.bbor.client.providers;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+
+public class SlimeChunkFinder {
+    private static final int OUTER_RADIUS = 8;
+    private static final int INNER_RADIUS = 1;
+    private static final int BAND_ROWS = 32;
+    private static final int CANDIDATES_PER_RESULT = 64;
+
+    private static final int[] outerHalfWidths = new int[OUTER_RADIUS * 2 + 1];
+
+    // kept off the common pool so long searches don't stall the overlay scans
+    private static final ForkJoinPool pool = new ForkJoinPool(
+            Math.max(1, Runtime.getRuntime().availableProcessors() / 2),
+            forkJoinPool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+                thread.setName("BBOR Slime Finder");
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MIN_PRIORITY);
+                return thread;
+            },
+            null, false);
+
+    static {
+        for (int dz = -OUTER_RADIUS; dz <= OUTER_RADIUS; dz++) {
+            int halfWidth = 0;
+            while ((halfWidth + 1) * (halfWidth + 1) + dz * dz <= OUTER_RADIUS * OUTER_RADIUS) halfWidth++;
+            outerHalfWidths[dz + OUTER_RADIUS] = halfWidth;
+        }
+    }
+
+    public static CompletableFuture<List<Candidate>> findAsync(long seed, int centerChunkX, int centerChunkZ, int radiusChunks, int count) {
+        return CompletableFuture.supplyAsync(() -> find(seed, centerChunkX, centerChunkZ, radiusChunks, count), pool);
+    }
+
+    public static List<Candidate> find(long seed, int centerChunkX, int centerChunkZ, int radiusChunks, int count) {
+        SearchTask task = new SearchTask(seed,
+                centerChunkX - radiusChunks, centerChunkX + radiusChunks,
+                centerChunkZ - radiusChunks, centerChunkZ + radiusChunks,
+                count * CANDIDATES_PER_RESULT);
+        List<Candidate> candidates = pool.invoke(task);
+        candidates.sort(Comparator.comparingInt(Candidate::getCount).reversed()
+                .thenComparingLong(candidate -> candidate.getDistanceSquared(centerChunkX, centerChunkZ)));
+
+        List<Candidate> results = new ArrayList<>();
+        for (Candidate candidate : candidates) {
+            if (results.size() == count) break;
+            if (results.stream().noneMatch(result -> result.getDistanceSquared(candidate.chunkX, candidate.chunkZ) < OUTER_RADIUS * OUTER_RADIUS)) {
+                results.add(candidate);
+            }
+        }
+        return results;
+    }
+
+    private static List<Candidate> keepBest(List<Candidate> candidates, int limit) {
+        if (candidates.size() <= limit) return candidates;
+
+        candidates.sort(Comparator.comparingInt(Candidate::getCount).reversed());
+        return new ArrayList<>(candidates.subList(0, limit));
+    }
+
+    private static class SearchTask extends RecursiveTask<List<Candidate>> {
+        private final long seed;
+        private final int minChunkX;
+        private final int maxChunkX;
+        private final int minChunkZ;
+        private final int maxChunkZ;
+        private final int limit;
+
+        private SearchTask(long seed, int minChunkX, int maxChunkX, int minChunkZ, int maxChunkZ, int limit) {
+            this.seed = seed;
+            this.minChunkX = minChunkX;
+            this.maxChunkX = maxChunkX;
+            this.minChunkZ = minChunkZ;
+            this.maxChunkZ = maxChunkZ;
+            this.limit = limit;
+        }
+
+        @Override
+        protected List<Candidate> compute() {
+            if (maxChunkZ - minChunkZ < BAND_ROWS) return search();
+
+            int midChunkZ = (minChunkZ + maxChunkZ) >>> 1;
+            SearchTask first = new SearchTask(seed, minChunkX, maxChunkX, minChunkZ, midChunkZ, limit);
+            SearchTask second = new SearchTask(seed, minChunkX, maxChunkX, midChunkZ + 1, maxChunkZ, limit);
+            first.fork();
+            List<Candidate> candidates = new ArrayList<>(second.compute());
+            candidates.addAll(first.join());
+            return keepBest(candidates, limit);
+        }
+
+        private List<Candidate> search() {
+            int startX = minChunkX - OUTER_RADIUS;
+            int startZ = minChunkZ - OUTER_RADIUS;
+            int width = maxChunkX - minChunkX + 1 + OUTER_RADIUS * 2;
+            int rows = maxChunkZ - minChunkZ + 1 + OUTER_RADIUS * 2;
+
+            int[][] rowSums = new int[rows][width + 1];
+            for (int row = 0; row < rows; row++) {
+                int[] sums = rowSums[row];
+                for (int column = 0; column < width; column++) {
+                    boolean slimeChunk = SlimeChunkProvider.isSlimeChunk(seed, startX + column, startZ + row);
+                    sums[column + 1] = sums[column] + (slimeChunk ? 1 : 0);
+                }
+            }
+
+            PriorityQueue<Candidate> best = new PriorityQueue<>(Comparator.comparingInt(Candidate::getCount));
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                int centerRow = chunkZ - startZ;
+                for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+                    int centerColumn = chunkX - startX;
+                    int count = 0;
+                    for (int dz = -OUTER_RADIUS; dz <= OUTER_RADIUS; dz++) {
+                        int halfWidth = outerHalfWidths[dz + OUTER_RADIUS];
+                        int[] sums = rowSums[centerRow + dz];
+                        count += sums[centerColumn + halfWidth + 1] - sums[centerColumn - halfWidth];
+                    }
+                    for (int dz = -INNER_RADIUS; dz <= INNER_RADIUS; dz++) {
+                        int[] sums = rowSums[centerRow + dz];
+                        count -= sums[centerColumn + INNER_RADIUS + 1] - sums[centerColumn - INNER_RADIUS];
+                    }
+
+                    if (best.size() < limit) {
+                        best.add(new Candidate(chunkX, chunkZ, count));
+                    } else if (count > best.peek().count) {
+                        best.poll();
+                        best.add(new Candidate(chunkX, chunkZ, count));
+                    }
+                }
+            }
+            return new ArrayList<>(best);
+        }
+    }
+
+    public static class Candidate {
+        private final int chunkX;
+        private final int chunkZ;
+        private final int count;
+
+        private Candidate(int chunkX, int chunkZ, int count) {
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+            this.count = count;
+        }
+
+        public int getX() {
+            return (chunkX << 4) + 8;
+        }
+
+        public int getZ() {
+            return (chunkZ << 4) + 8;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        private long getDistanceSquared(int chunkX, int chunkZ) {
+            long dx = this.chunkX - chunkX;
+            long dz = this.chunkZ - chunkZ;
+            return dx * dx + dz * dz;
+        }
+    }
+}
@@ -2,32 +2,77 @@ package com.irtimaled.bbor.client.providers;
 
 import com.irtimaled.bbor.client.Player;
 import com.irtimaled.bbor.client.config.BoundingBoxTypeHelper;
+import com.irtimaled.bbor.client.config.ConfigManager;
 import com.irtimaled.bbor.client.interop.ClientInterop;
 import com.irtimaled.bbor.client.models.BoundingBoxSlimeChunk;
+import com.irtimaled.bbor.client.models.BoundingBoxSlimeChunkWall;
 import com.irtimaled.bbor.common.BoundingBoxType;
 import com.irtimaled.bbor.common.MathHelper;
+import com.irtimaled.bbor.common.models.AbstractBoundingBox;
 import com.irtimaled.bbor.common.models.Coords;
 import com.irtimaled.bbor.common.models.DimensionId;
 import net.minecraft.util.SharedSeedRandom;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.*;
 
-public class SlimeChunkProvider implements IBoundingBoxProvider<BoundingBoxSlimeChunk>, ICachingProvider {
+public class SlimeChunkProvider implements IBoundingBoxProvider<AbstractBoundingBox>, ICachingProvider {
     private static final double CHUNK_SIZE = 16d;
+    private static final int MIN_Y = 1;
+    private static final int MAX_Y = 39;
+
+    private static final int REGION_SHIFT = 5;
+    private static final int REGION_SIZE = 1 << REGION_SHIFT;
+    private static final int MAX_CACHED_REGIONS = 64;
 
     private static Long seed;
+    private static final Map<Long, SlimeRegion> regions = new LinkedHashMap<Long, SlimeRegion>(16, 0.75F, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, SlimeRegion> eldest) {
+            return size() > MAX_CACHED_REGIONS;
+        }
+    };
+    private static List<AbstractBoundingBox> lastBoundingBoxes = null;
+    private static int lastRenderDistanceChunks;
+    private static int lastPlayerChunkX;
+    private static int lastPlayerChunkZ;
+    private static boolean lastMerged;
 
     public static void setSeed(long seed) {
+        if (!Long.valueOf(seed).equals(SlimeChunkProvider.seed)) {
+            regions.clear();
+            lastBoundingBoxes = null;
+        }
         SlimeChunkProvider.seed = seed;
     }
 
+    public static Long getSeed() {
+        return seed;
+    }
+
+    public static boolean isSlimeChunk(long seed, int chunkX, int chunkZ) {
+        return SharedSeedRandom.seedSlimeChunk(chunkX, chunkZ, seed, 987234911L).nextInt(10) == 0;
+    }
+
+    private static SlimeRegion getRegion(int chunkX, int chunkZ) {
+        int regionX = chunkX >> REGION_SHIFT;
+        int regionZ = chunkZ >> REGION_SHIFT;
+        long key = ((long) regionX << 32) | (regionZ & 0xFFFFFFFFL);
+        SlimeRegion region = regions.get(key);
+        if (region == null) {
+            region = new SlimeRegion(regionX << REGION_SHIFT, regionZ << REGION_SHIFT);
+            regions.put(key, region);
+        }
+        return region;
+    }
+
     private static boolean isSlimeChunk(int chunkX, int chunkZ) {
-        return SharedSeedRandom.seedSlimeChunk(chunkX, chunkZ,seed, 987234911L).nextInt(10) == 0;
+        return getRegion(chunkX, chunkZ).isSlimeChunk(chunkX, chunkZ);
     }
 
     public void clearCache() {
         seed = null;
+        regions.clear();
+        lastBoundingBoxes = null;
     }
 
     @Override
@@ -36,22 +81,112 @@ public class SlimeChunkProvider implements IBoundingBoxProvider<BoundingBoxSlime
     }
 
     @Override
-    public Iterable<BoundingBoxSlimeChunk> get(DimensionId dimensionId) {
-        Set<BoundingBoxSlimeChunk> slimeChunks = new HashSet<>();
+    public Iterable<AbstractBoundingBox> get(DimensionId dimensionId) {
         int renderDistanceChunks = ClientInterop.getRenderDistanceChunks();
         int playerChunkX = MathHelper.floor(Player.getX() / CHUNK_SIZE);
         int playerChunkZ = MathHelper.floor(Player.getZ() / CHUNK_SIZE);
+        boolean merged = ConfigManager.mergeSlimeChunks.get();
+        if (lastBoundingBoxes == null ||
+                renderDistanceChunks != lastRenderDistanceChunks ||
+                playerChunkX != lastPlayerChunkX ||
+                playerChunkZ != lastPlayerChunkZ ||
+                merged != lastMerged) {
+            lastRenderDistanceChunks = renderDistanceChunks;
+            lastPlayerChunkX = playerChunkX;
+            lastPlayerChunkZ = playerChunkZ;
+            lastMerged = merged;
+            lastBoundingBoxes = merged
+                    ? getWalls(renderDistanceChunks, playerChunkX, playerChunkZ)
+                    : getSlimeChunks(renderDistanceChunks, playerChunkX, playerChunkZ);
+        }
+        return lastBoundingBoxes;
+    }
+
+    private List<AbstractBoundingBox> getSlimeChunks(int renderDistanceChunks, int playerChunkX, int playerChunkZ) {
+        List<AbstractBoundingBox> slimeChunks = new ArrayList<>();
         for (int chunkX = playerChunkX - renderDistanceChunks; chunkX <= playerChunkX + renderDistanceChunks; ++chunkX) {
             for (int chunkZ = playerChunkZ - renderDistanceChunks; chunkZ <= playerChunkZ + renderDistanceChunks; ++chunkZ) {
-                if (isSlimeChunk(chunkX, chunkZ)) {
-                    int chunkXStart = chunkX << 4;
-                    int chunkZStart = chunkZ << 4;
-                    Coords minCoords = new Coords(chunkXStart, 1, chunkZStart);
-                    Coords maxCoords = new Coords(chunkXStart + 15, 38, chunkZStart + 15);
-                    slimeChunks.add(new BoundingBoxSlimeChunk(minCoords, maxCoords));
+                SlimeRegion region = getRegion(chunkX, chunkZ);
+                if (region.isSlimeChunk(chunkX, chunkZ)) {
+                    slimeChunks.add(region.getBoundingBox(chunkX, chunkZ));
                 }
             }
         }
         return slimeChunks;
     }
+
+    private List<AbstractBoundingBox> getWalls(int renderDistanceChunks, int playerChunkX, int playerChunkZ) {
+        // sample one extra ring so walls only appear against real non-slime neighbours
+        int size = renderDistanceChunks * 2 + 3;
+        int minChunkX = playerChunkX - renderDistanceChunks - 1;
+        int minChunkZ = playerChunkZ - renderDistanceChunks - 1;
+        boolean[] slimeChunks = new boolean[size * size];
+        for (int x = 0; x < size; x++) {
+            for (int z = 0; z < size; z++) {
+                slimeChunks[x * size + z] = isSlimeChunk(minChunkX + x, minChunkZ + z);
+            }
+        }
+
+        EdgeMerger edgesAlongX = new EdgeMerger();
+        EdgeMerger edgesAlongZ = new EdgeMerger();
+        for (int x = 1; x < size - 1; x++) {
+            for (int z = 1; z < size - 1; z++) {
+                if (!slimeChunks[x * size + z]) continue;
+
+                int chunkX = minChunkX + x;
+                int chunkZ = minChunkZ + z;
+                if (!slimeChunks[x * size + z - 1]) edgesAlongX.add(chunkZ, chunkX);
+                if (!slimeChunks[x * size + z + 1]) edgesAlongX.add(chunkZ + 1, chunkX);
+                if (!slimeChunks[(x - 1) * size + z]) edgesAlongZ.add(chunkX, chunkZ);
+                if (!slimeChunks[(x + 1) * size + z]) edgesAlongZ.add(chunkX + 1, chunkZ);
+            }
+        }
+
+        List<AbstractBoundingBox> walls = new ArrayList<>();
+        edgesAlongX.merge((chunkZ, startChunkX, endChunkX) ->
+                walls.add(new BoundingBoxSlimeChunkWall(new Coords(startChunkX << 4, MIN_Y, chunkZ << 4), new Coords(endChunkX << 4, MAX_Y, chunkZ << 4))));
+        edgesAlongZ.merge((chunkX, startChunkZ, endChunkZ) ->
+                walls.add(new BoundingBoxSlimeChunkWall(new Coords(chunkX << 4, MIN_Y, startChunkZ << 4), new Coords(chunkX << 4, MAX_Y, endChunkZ << 4))));
+        return walls;
+    }
+
+    private static class SlimeRegion {
+        private final int minChunkX;
+        private final int minChunkZ;
+        private final long[] bits = new long[REGION_SIZE * REGION_SIZE / 64];
+        private final BoundingBoxSlimeChunk[] boundingBoxes = new BoundingBoxSlimeChunk[REGION_SIZE * REGION_SIZE];
+
+        private SlimeRegion(int minChunkX, int minChunkZ) {
+            this.minChunkX = minChunkX;
+            this.minChunkZ = minChunkZ;
+            for (int index = 0; index < REGION_SIZE * REGION_SIZE; index++) {
+                if (SlimeChunkProvider.isSlimeChunk(seed, minChunkX + (index >> REGION_SHIFT), minChunkZ + (index & (REGION_SIZE - 1)))) {
+                    bits[index >> 6] |= 1L << index;
+                }
+            }
+        }
+
+        private int index(int chunkX, int chunkZ) {
+            return (chunkX - minChunkX) << REGION_SHIFT | (chunkZ - minChunkZ);
+        }
+
+        private boolean isSlimeChunk(int chunkX, int chunkZ) {
+            int index = index(chunkX, chunkZ);
+            return (bits[index >> 6] & (1L << index)) != 0;
+        }
+
+        private BoundingBoxSlimeChunk getBoundingBox(int chunkX, int chunkZ) {
+            int index = index(chunkX, chunkZ);
+            BoundingBoxSlimeChunk boundingBox = boundingBoxes[index];
+            if (boundingBox == null) {
+                int chunkXStart = chunkX << 4;
+                int chunkZStart = chunkZ << 4;
+                Coords minCoords = new Coords(chunkXStart, MIN_Y, chunkZStart);
+                Coords maxCoords = new Coords(chunkXStart + 15, MAX_Y - 1, chunkZStart + 15);
+                boundingBox = new BoundingBoxSlimeChunk(minCoords, maxCoords);
+                boundingBoxes[index] = boundingBox;
+            }
+            return boundingBox;
+        }
+    }
 }
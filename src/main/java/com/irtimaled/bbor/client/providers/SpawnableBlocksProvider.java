@@ -3,25 +3,55 @@ package com.irtimaled.bbor.client.providers;
 import com.irtimaled.bbor.client.Player;
 import com.irtimaled.bbor.client.config.BoundingBoxTypeHelper;
 import com.irtimaled.bbor.client.config.ConfigManager;
+import com.irtimaled.bbor.client.events.ChunkSectionsChanged;
+import com.irtimaled.bbor.client.interop.ScanResults;
 import com.irtimaled.bbor.client.interop.SpawnableBlocksHelper;
 import com.irtimaled.bbor.client.models.BoundingBoxSpawnableBlocks;
 import com.irtimaled.bbor.common.BoundingBoxType;
 import com.irtimaled.bbor.common.MathHelper;
+import com.irtimaled.bbor.common.models.Coords;
 import com.irtimaled.bbor.common.models.DimensionId;
 import net.minecraft.client.Minecraft;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class SpawnableBlocksProvider implements IBoundingBoxProvider<BoundingBoxSpawnableBlocks>, ICachingProvider {
     public static final Minecraft minecraft = Minecraft.getInstance();
-    private static Long lastGameTime = null;
+    private static Coords lastPlayerCoords = null;
+    private static int lastWidth;
+    private static int lastHeight;
+    private static World lastWorld = null;
 
-    private static Set<BoundingBoxSpawnableBlocks> lastBoundingBox = null;
+    private static final AsyncSnapshot<Set<BoundingBoxSpawnableBlocks>> spawnableBlocks = new AsyncSnapshot<>(new HashSet<>());
+    private static final Map<Long, long[]> sections = new ConcurrentHashMap<>();
+    private static final Set<Long> dirtySections = ConcurrentHashMap.newKeySet();
+    private static volatile boolean invalidated = false;
 
     public void clearCache() {
-        lastGameTime = null;
-        lastBoundingBox = null;
+        lastPlayerCoords = null;
+        invalidated = true;
+        dirtySections.clear();
+        spawnableBlocks.clear();
+    }
+
+    @Override
+    public void invalidate(ChunkSectionsChanged event) {
+        Coords playerCoords = lastPlayerCoords;
+        if (playerCoords == null) return;
+
+        if (!event.intersects(playerCoords.getX() - lastWidth, playerCoords.getY() - lastHeight - 1, playerCoords.getZ() - lastWidth,
+                playerCoords.getX() + lastWidth, playerCoords.getY() + lastHeight, playerCoords.getZ() + lastWidth)) return;
+
+        for (int sectionY = 0; sectionY < 16; sectionY++) {
+            if (!event.containsSection(sectionY)) continue;
+
+            // the bottom layer of the section above depends on the top layer of this one
+            dirtySections.add(SpawnableBlocksHelper.getSectionKey(event.getChunkX(), sectionY, event.getChunkZ()));
+            dirtySections.add(SpawnableBlocksHelper.getSectionKey(event.getChunkX(), sectionY + 1, event.getChunkZ()));
+        }
     }
 
     private boolean isWithinActiveSpawningSphere() {
@@ -38,21 +68,56 @@ public class SpawnableBlocksProvider implements IBoundingBoxProvider<BoundingBox
 
     @Override
     public Iterable<BoundingBoxSpawnableBlocks> get(DimensionId dimensionId) {
-        long gameTime = minecraft.world.getGameTime();
-        if (lastBoundingBox == null || (!((Long) gameTime).equals(lastGameTime) && gameTime % 2L == 0L)) {
-            lastGameTime = gameTime;
-            lastBoundingBox = getSpawnableBlocks();
+        if (minecraft.world != lastWorld) {
+            lastWorld = minecraft.world;
+            clearCache();
         }
-        return lastBoundingBox;
-    }
-
-    private Set<BoundingBoxSpawnableBlocks> getSpawnableBlocks() {
-        BoundingBoxSpawnableBlocks boundingBox = new BoundingBoxSpawnableBlocks();
 
+        Coords playerCoords = Player.getCoords();
         int width = MathHelper.floor(Math.pow(2, 1 + ConfigManager.spawnableBlocksRenderWidth.get()));
         int height = MathHelper.floor(Math.pow(2, ConfigManager.spawnableBlocksRenderHeight.get()));
+        if (!dirtySections.isEmpty() || !playerCoords.equals(lastPlayerCoords) || width != lastWidth || height != lastHeight) {
+            lastPlayerCoords = playerCoords;
+            lastWidth = width;
+            lastHeight = height;
+            spawnableBlocks.request(() -> getSpawnableBlocks(playerCoords, width, height));
+        }
+        return spawnableBlocks.get();
+    }
+
+    private static Set<BoundingBoxSpawnableBlocks> getSpawnableBlocks(Coords playerCoords, int width, int height) {
+        if (invalidated) {
+            invalidated = false;
+            sections.clear();
+        }
+        for (Iterator<Long> iterator = dirtySections.iterator(); iterator.hasNext(); ) {
+            sections.remove(iterator.next());
+            iterator.remove();
+        }
 
-        SpawnableBlocksHelper.findSpawnableBlocks(Player.getCoords(), width, height, boundingBox.getBlocks()::add);
+        int minX = playerCoords.getX() - width;
+        int maxX = playerCoords.getX() + width;
+        int minY = Math.max(1, playerCoords.getY() - height);
+        int maxY = Math.min(254, playerCoords.getY() + height - 1);
+        int minZ = playerCoords.getZ() - width;
+        int maxZ = playerCoords.getZ() + width;
+
+        Set<Long> visibleSections = new HashSet<>();
+        for (int chunkX = minX >> 4; chunkX <= maxX >> 4; chunkX++) {
+            for (int chunkZ = minZ >> 4; chunkZ <= maxZ >> 4; chunkZ++) {
+                for (int sectionY = minY >> 4; sectionY <= maxY >> 4; sectionY++) {
+                    visibleSections.add(SpawnableBlocksHelper.getSectionKey(chunkX, sectionY, chunkZ));
+                }
+            }
+        }
+        sections.keySet().retainAll(visibleSections);
+
+        ScanResults results = SpawnableBlocksHelper.findSpawnableBlocks(minX, minY, minZ, maxX, maxY, maxZ, sections);
+        BoundingBoxSpawnableBlocks boundingBox = new BoundingBoxSpawnableBlocks();
+        Set<BlockPos> blocks = boundingBox.getBlocks();
+        for (int index = 0; index < results.size(); index++) {
+            blocks.add(new BlockPos(results.getX(index), results.getY(index), results.getZ(index)));
+        }
 
         Set<BoundingBoxSpawnableBlocks> boundingBoxes = new HashSet<>();
         boundingBoxes.add(boundingBox);
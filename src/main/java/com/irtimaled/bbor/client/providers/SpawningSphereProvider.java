@@ -3,23 +3,32 @@ package com.irtimaled.bbor.client.providers;
 import com.irtimaled.bbor.client.Player;
 import com.irtimaled.bbor.client.config.BoundingBoxTypeHelper;
 import com.irtimaled.bbor.client.config.ConfigManager;
+import com.irtimaled.bbor.client.events.ChunkSectionsChanged;
 import com.irtimaled.bbor.client.interop.BlockProcessor;
 import com.irtimaled.bbor.client.interop.SpawningSphereHelper;
+import com.irtimaled.bbor.client.interop.WorldSnapshot;
 import com.irtimaled.bbor.client.models.BoundingBoxSpawningSphere;
 import com.irtimaled.bbor.client.models.Point;
 import com.irtimaled.bbor.common.BoundingBoxType;
 import com.irtimaled.bbor.common.MathHelper;
+import com.irtimaled.bbor.common.models.Coords;
 import com.irtimaled.bbor.common.models.DimensionId;
 import net.minecraft.client.Minecraft;
+import net.minecraft.util.math.BlockPos;
 
 import java.util.HashSet;
 import java.util.Set;
 
 public class SpawningSphereProvider implements IBoundingBoxProvider<BoundingBoxSpawningSphere>, ICachingProvider {
     public static final Minecraft minecraft = Minecraft.getInstance();
-    private static Long lastGameTime = null;
+    private static Coords lastPlayerCoords = null;
+    private static int lastWidth;
+    private static int lastHeight;
+    private static boolean lastRenderSpawnableBlocks;
+    private static volatile boolean dirty = false;
 
     private static Set<BoundingBoxSpawningSphere> lastBoundingBox = null;
+    private static final AsyncSnapshot<Set<BlockPos>> spawnableSpaces = new AsyncSnapshot<>(new HashSet<>());
     private static BoundingBoxSpawningSphere spawningSphere;
     private static DimensionId dimensionId;
 
@@ -28,11 +37,13 @@ public class SpawningSphereProvider implements IBoundingBoxProvider<BoundingBoxS
 
         dimensionId = Player.getDimensionId();
         spawningSphere = new BoundingBoxSpawningSphere(point);
+        spawnableSpaces.clear();
         lastBoundingBox = null;
     }
 
     public static boolean clearSphere() {
         if (spawningSphere != null) {
+            spawnableSpaces.clear();
             lastBoundingBox = null;
             spawningSphere = null;
             dimensionId = null;
@@ -45,11 +56,25 @@ public class SpawningSphereProvider implements IBoundingBoxProvider<BoundingBoxS
         clearSphere();
     }
 
+    @Override
+    public void invalidate(ChunkSectionsChanged event) {
+        Coords playerCoords = lastPlayerCoords;
+        if (playerCoords == null || spawningSphere == null) return;
+
+        if (event.intersects(playerCoords.getX() - lastWidth, playerCoords.getY() - lastHeight - 1, playerCoords.getZ() - lastWidth,
+                playerCoords.getX() + lastWidth, playerCoords.getY() + lastHeight, playerCoords.getZ() + lastWidth)) {
+            dirty = true;
+        }
+    }
+
     public static void calculateSpawnableSpacesCount(BlockProcessor blockProcessor) {
         if (spawningSphere != null) {
             Point sphereCenter = spawningSphere.getPoint();
             int size = BoundingBoxSpawningSphere.SPAWN_RADIUS + 2;
-            SpawningSphereHelper.findSpawnableSpaces(sphereCenter, sphereCenter.getCoords(), size, size, blockProcessor);
+            Coords coords = sphereCenter.getCoords();
+            WorldSnapshot.captureChunks((coords.getX() - size) >> 4, (coords.getZ() - size) >> 4,
+                    (coords.getX() + size) >> 4, (coords.getZ() + size) >> 4);
+            SpawningSphereHelper.findSpawnableSpaces(sphereCenter, coords, size, size, blockProcessor);
         }
     }
 
@@ -74,24 +99,41 @@ public class SpawningSphereProvider implements IBoundingBoxProvider<BoundingBoxS
 
     @Override
     public Iterable<BoundingBoxSpawningSphere> get(DimensionId dimensionId) {
-        long gameTime = minecraft.world.getGameTime();
-        if (lastBoundingBox == null || (!((Long) gameTime).equals(lastGameTime) && gameTime % 2L == 0L)) {
-            lastGameTime = gameTime;
-            lastBoundingBox = getSpawningSphere();
+        Coords playerCoords = Player.getCoords();
+        int width = MathHelper.floor(Math.pow(2, 1 + ConfigManager.spawnableBlocksRenderWidth.get()));
+        int height = MathHelper.floor(Math.pow(2, ConfigManager.spawnableBlocksRenderHeight.get()));
+        boolean renderSpawnableBlocks = ConfigManager.renderAFKSpawnableBlocks.get();
+        if (lastBoundingBox == null || dirty ||
+                !playerCoords.equals(lastPlayerCoords) ||
+                width != lastWidth ||
+                height != lastHeight ||
+                renderSpawnableBlocks != lastRenderSpawnableBlocks) {
+            dirty = false;
+            lastPlayerCoords = playerCoords;
+            lastWidth = width;
+            lastHeight = height;
+            lastRenderSpawnableBlocks = renderSpawnableBlocks;
+            lastBoundingBox = getSpawningSphere(playerCoords, width, height, renderSpawnableBlocks);
         }
+        spawningSphere.setBlocks(spawnableSpaces.get());
         return lastBoundingBox;
     }
 
-    private Set<BoundingBoxSpawningSphere> getSpawningSphere() {
-        spawningSphere.getBlocks().clear();
-        if (ConfigManager.renderAFKSpawnableBlocks.get()) {
-            int width = MathHelper.floor(Math.pow(2, 1 + ConfigManager.spawnableBlocksRenderWidth.get()));
-            int height = MathHelper.floor(Math.pow(2, ConfigManager.spawnableBlocksRenderHeight.get()));
-
-            SpawningSphereHelper.findSpawnableSpaces(spawningSphere.getPoint(), Player.getCoords(), width, height, spawningSphere.getBlocks()::add);
+    private Set<BoundingBoxSpawningSphere> getSpawningSphere(Coords playerCoords, int width, int height, boolean renderSpawnableBlocks) {
+        if (renderSpawnableBlocks) {
+            Point center = spawningSphere.getPoint();
+            spawnableSpaces.request(() -> getSpawnableSpaces(center, playerCoords, width, height));
+        } else {
+            spawnableSpaces.clear();
         }
         Set<BoundingBoxSpawningSphere> boundingBoxes = new HashSet<>();
         boundingBoxes.add(spawningSphere);
         return boundingBoxes;
     }
+
+    private static Set<BlockPos> getSpawnableSpaces(Point center, Coords playerCoords, int width, int height) {
+        Set<BlockPos> blocks = new HashSet<>();
+        SpawningSphereHelper.findSpawnableSpaces(center, playerCoords, width, height, blocks::add);
+        return blocks;
+    }
 }
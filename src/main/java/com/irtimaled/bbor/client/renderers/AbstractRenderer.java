@@ -1,50 +1,58 @@
 package com.irtimaled.bbor.client.renderers;
 
+import com.irtimaled.bbor.client.Camera;
 import com.irtimaled.bbor.client.config.ConfigManager;
 import com.irtimaled.bbor.client.models.Point;
-import com.irtimaled.bbor.common.MathHelper;
 import com.irtimaled.bbor.common.models.AbstractBoundingBox;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.FontRenderer;
+import net.minecraft.util.math.BlockPos;
 
 import java.awt.*;
+import java.util.Set;
 import java.util.function.Supplier;
 
 public abstract class AbstractRenderer<T extends AbstractBoundingBox> {
     private static final double TAU = 6.283185307179586D;
     public static final double PHI_SEGMENT = TAU / 90D;
-    private static final double PI = TAU / 2D;
     public static final double THETA_SEGMENT = PHI_SEGMENT / 2D;
 
     public abstract void render(T boundingBox);
 
+    public boolean isVisible(T boundingBox) {
+        return true;
+    }
+
     void renderCuboid(OffsetBox bb, Color color) {
         OffsetBox nudge = bb.nudge();
         renderOutlinedCuboid(nudge, color);
-        renderFilledFaces(nudge.getMin(), nudge.getMax(), color);
+        if (!ConfigManager.fill.get()) return;
+
+        renderFaces(nudge.getMinX(), nudge.getMinY(), nudge.getMinZ(), nudge.getMaxX(), nudge.getMaxY(), nudge.getMaxZ(),
+                color, 30, Renderer::startQuads);
     }
 
     void renderOutlinedCuboid(OffsetBox bb, Color color) {
-        RenderHelper.polygonModeLine();
-        OffsetPoint min = bb.getMin();
-        OffsetPoint max = bb.getMax();
-        renderFaces(min, max, color, 255, min.getY() == max.getY() ? Renderer::startLineLoop : Renderer::startLines);
+        double minY = bb.getMinY();
+        double maxY = bb.getMaxY();
+        renderFaces(bb.getMinX(), minY, bb.getMinZ(), bb.getMaxX(), maxY, bb.getMaxZ(),
+                color, 255, minY == maxY ? Renderer::startLineLoop : Renderer::startLines);
     }
 
     private void renderFaces(OffsetPoint min, OffsetPoint max, Color color, int alpha, Supplier<Renderer> rendererSupplier) {
-        double minX = min.getX();
-        double minY = min.getY();
-        double minZ = min.getZ();
-
-        double maxX = max.getX();
-        double maxY = max.getY();
-        double maxZ = max.getZ();
+        renderFaces(min.getX(), min.getY(), min.getZ(), max.getX(), max.getY(), max.getZ(), color, alpha, rendererSupplier);
+    }
 
+    private void renderFaces(double minX, double minY, double minZ, double maxX, double maxY, double maxZ, Color color, int alpha, Supplier<Renderer> rendererSupplier) {
         if (ConfigManager.invertBoxColorPlayerInside.get() &&
                 playerInsideBoundingBox(minX, minY, minZ, maxX, maxY, maxZ)) {
             color = new Color(255 - color.getRed(), 255 - color.getGreen(), 255 - color.getBlue());
         }
 
+        buildFaces(minX, minY, minZ, maxX, maxY, maxZ, color, alpha, rendererSupplier);
+    }
+
+    void buildFaces(double minX, double minY, double minZ, double maxX, double maxY, double maxZ, Color color, int alpha, Supplier<Renderer> rendererSupplier) {
         Renderer renderer = rendererSupplier.get()
                 .setColor(color)
                 .setAlpha(alpha);
@@ -97,7 +105,6 @@ public abstract class AbstractRenderer<T extends AbstractBoundingBox> {
     }
 
     void renderLine(OffsetPoint startPoint, OffsetPoint endPoint, Color color) {
-        RenderHelper.polygonModeLine();
         Renderer.startLines()
                 .setColor(color)
                 .addPoint(startPoint)
@@ -112,12 +119,34 @@ public abstract class AbstractRenderer<T extends AbstractBoundingBox> {
     void renderFilledFaces(OffsetPoint min, OffsetPoint max, Color color, int alpha) {
         if (!ConfigManager.fill.get()) return;
 
-        RenderHelper.polygonModeFill();
-        RenderHelper.enableBlend();
         renderFaces(min, max, color, alpha, Renderer::startQuads);
-        RenderHelper.disableBlend();
-        RenderHelper.enablePolygonOffsetLine();
-        RenderHelper.polygonOffsetMinusOne();
+    }
+
+    void renderSpawnableBlocks(Set<BlockPos> blocks, SpawnableBlocksMesh mesh, Color color) {
+        if (ConfigManager.mergeSpawnableBlocks.get()) {
+            int[] rectangles = mesh.getRectangles(blocks);
+            for (int index = 0; index < rectangles.length; index += 5) {
+                int minX = rectangles[index];
+                int y = rectangles[index + 1];
+                int minZ = rectangles[index + 2];
+                int maxX = rectangles[index + 3];
+                int maxZ = rectangles[index + 4];
+                if (!FrustumCuller.isVisible(minX, y, minZ, maxX, y + 1, maxZ)) continue;
+
+                renderCuboid(new OffsetBox(minX, y, minZ, maxX, y, maxZ), color);
+            }
+            return;
+        }
+
+        blocks.forEach(c -> {
+            int x = c.getX();
+            int y = c.getY();
+            int z = c.getZ();
+            if (!FrustumCuller.isVisible(x, y, z)) return;
+
+            OffsetBox offsetBox = new OffsetBox(x, y, z, x + 1, y, z + 1);
+            renderCuboid(offsetBox, color);
+        });
     }
 
     void renderText(OffsetPoint offsetPoint, String... texts) {
@@ -134,52 +163,13 @@ public abstract class AbstractRenderer<T extends AbstractBoundingBox> {
     }
 
     void renderSphere(Point center, double radius, Color color) {
-        if (ConfigManager.renderSphereAsDots.get()) {
-            renderDotSphere(center, radius, color);
-        } else {
-            renderLineSphere(center, radius, color);
-        }
-    }
+        boolean dots = ConfigManager.renderSphereAsDots.get();
+        double yOffset = ((radius - (int) radius) == 0) ? center.getY() - (int) center.getY() : 0;
+        SphereMesh mesh = SphereMesh.get(radius, yOffset, dots);
 
-    private void renderLineSphere(Point center, double radius, Color color) {
-        RenderHelper.lineWidth2();
-
-        double offset = ((radius - (int) radius) == 0) ? center.getY() - (int) center.getY() : 0;
-        int dyStep = radius < 64 ? 1 : MathHelper.floor(radius / 32);
-        for (double dy = offset - radius; dy <= radius + 1; dy += dyStep) {
-            double circleRadius = Math.sqrt((radius * radius) - (dy * dy));
-            if (circleRadius == 0) circleRadius = Math.sqrt(2) / 2;
-            renderCircle(center, circleRadius, color, dy + 0.001F);
-        }
-    }
-
-    private void renderCircle(Point center, double radius, Color color, double dy) {
-        Renderer renderer = Renderer.startLineLoop()
+        Renderer renderer = (dots ? Renderer.startPoints() : Renderer.startLines())
                 .setColor(color);
-
-        for (double phi = 0.0D; phi < TAU; phi += PHI_SEGMENT) {
-            renderer.addPoint(new OffsetPoint(center.offset(Math.cos(phi) * radius, dy, Math.sin(phi) * radius)));
-        }
-
-        renderer.render();
-    }
-
-    private void renderDotSphere(Point center, double radius, Color color) {
-        RenderHelper.enablePointSmooth();
-        RenderHelper.pointSize5();
-        Renderer renderer = Renderer.startPoints()
-                .setColor(color);
-
-        for (double phi = 0.0D; phi < TAU; phi += PHI_SEGMENT) {
-            double dy = radius * Math.cos(phi);
-            double radiusBySinPhi = radius * Math.sin(phi);
-            for (double theta = 0.0D; theta < PI; theta += THETA_SEGMENT) {
-                double dx = radiusBySinPhi * Math.cos(theta);
-                double dz = radiusBySinPhi * Math.sin(theta);
-
-                renderer.addPoint(new OffsetPoint(center.offset(dx, dy, dz)));
-            }
-        }
+        mesh.addTo(renderer, center.getX() - Camera.getX(), center.getY() - Camera.getY(), center.getZ() - Camera.getZ());
         renderer.render();
     }
 }
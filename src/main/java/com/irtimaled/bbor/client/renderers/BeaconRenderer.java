@@ -16,4 +16,9 @@ public class BeaconRenderer extends AbstractRenderer<BoundingBoxBeacon> {
             renderCuboid(new OffsetBox(boundingBox.getMinCoords(), boundingBox.getMaxCoords()), color);
         }
     }
+
+    @Override
+    public boolean isVisible(BoundingBoxBeacon boundingBox) {
+        return FrustumCuller.isVisible(boundingBox.getMinCoords(), boundingBox.getMaxCoords());
+    }
 }
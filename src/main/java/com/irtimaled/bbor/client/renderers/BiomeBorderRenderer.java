@@ -1,36 +1,24 @@
 package com.irtimaled.bbor.client.renderers;
 
 import com.irtimaled.bbor.client.config.BoundingBoxTypeHelper;
-import com.irtimaled.bbor.client.config.ConfigManager;
-import com.irtimaled.bbor.client.models.BoundingBoxBiomeBorder;
+import com.irtimaled.bbor.client.models.BoundingBoxBiomeBorderStrip;
 import com.irtimaled.bbor.common.models.Coords;
 
 import java.awt.*;
 
-public class BiomeBorderRenderer extends AbstractRenderer<BoundingBoxBiomeBorder> {
+public class BiomeBorderRenderer extends AbstractRenderer<BoundingBoxBiomeBorderStrip> {
     @Override
-    public void render(BoundingBoxBiomeBorder boundingBox) {
-        Coords coords = boundingBox.getCoords();
-        OffsetPoint northWest = new OffsetPoint(coords).offset(0, 0.001F, 0);
-        OffsetPoint northEast = northWest.offset(1, 0, 0);
-        OffsetPoint southWest = northWest.offset(0, 0, 1);
-
-        Color color = BoundingBoxTypeHelper.getColor(boundingBox.getType());
-        if (boundingBox.renderNorth()) {
-            render(northWest, northEast, color);
-        }
-        if (boundingBox.renderWest()) {
-            render(northWest, southWest, color);
-        }
-        if (ConfigManager.renderOnlyCurrentBiome.get()) {
-            OffsetPoint southEast = southWest.offset(1, 0, 0);
-            if (boundingBox.renderSouth()) {
-                render(southWest, southEast, color);
-            }
-            if (boundingBox.renderEast()) {
-                render(northEast, southEast, color);
-            }
-        }
+    public void render(BoundingBoxBiomeBorderStrip boundingBox) {
+        OffsetPoint start = new OffsetPoint(boundingBox.getStart()).offset(0, 0.001F, 0);
+        OffsetPoint end = new OffsetPoint(boundingBox.getEnd()).offset(0, 0.001F, 0);
+        render(start, end, BoundingBoxTypeHelper.getColor(boundingBox.getType()));
+    }
+
+    @Override
+    public boolean isVisible(BoundingBoxBiomeBorderStrip boundingBox) {
+        Coords start = boundingBox.getStart();
+        Coords end = boundingBox.getEnd();
+        return FrustumCuller.isVisible(start.getX(), start.getY(), start.getZ(), end.getX(), end.getY() + 1, end.getZ());
     }
 
     private void render(OffsetPoint topCorner1, OffsetPoint topCorner2, Color color) {
@@ -19,12 +19,18 @@ public class ConduitRenderer extends AbstractRenderer<BoundingBoxConduit> {
             renderSphere(point, boundingBox.getRadius() + 0.5, color);
         }
 
-        OffsetPoint center = new OffsetPoint(point);
-        OffsetBox centerBox = new OffsetBox(center, center).grow(0.5, 0.5, 0.5);
+        OffsetBox centerBox = new OffsetBox(point).grow(0.5, 0.5, 0.5);
         renderCuboid(centerBox, color);
         if (level == 6 && ConfigManager.renderConduitMobHarmArea.get()) {
             renderCuboid(centerBox.grow(8, 8, 8),
                     ColorHelper.getColor(ConfigManager.colorConduitMobHarmArea));
         }
     }
+
+    @Override
+    public boolean isVisible(BoundingBoxConduit boundingBox) {
+        Point point = boundingBox.getPoint();
+        double radius = Math.max(boundingBox.getRadius() + 0.5, 8.5);
+        return FrustumCuller.isVisible(point.getX(), point.getY(), point.getZ(), radius + 1);
+    }
 }
@@ -9,4 +9,9 @@ public class CuboidRenderer extends AbstractRenderer<BoundingBoxCuboid> {
         OffsetBox bb = new OffsetBox(boundingBox.getMinCoords(), boundingBox.getMaxCoords());
         renderCuboid(bb, BoundingBoxTypeHelper.getColor(boundingBox.getType()));
     }
+
+    @Override
+    public boolean isVisible(BoundingBoxCuboid boundingBox) {
+        return FrustumCuller.isVisible(boundingBox.getMinCoords(), boundingBox.getMaxCoords());
+    }
 }
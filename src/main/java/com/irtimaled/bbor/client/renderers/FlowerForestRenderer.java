@@ -14,4 +14,10 @@ public class FlowerForestRenderer extends AbstractRenderer<BoundingBoxFlowerFore
                 new OffsetPoint(x + 1, y + 0.01d, z + 1),
                 boundingBox.getColor(), 127);
     }
+
+    @Override
+    public boolean isVisible(BoundingBoxFlowerForest boundingBox) {
+        Coords coords = boundingBox.getCoords();
+        return FrustumCuller.isVisible(coords.getX(), coords.getY(), coords.getZ());
+    }
 }
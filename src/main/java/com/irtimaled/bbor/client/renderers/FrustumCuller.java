@@ -0,0 +1,31 @@
+package com.irtimaled.bbor.client.renderers;
+
+import com.irtimaled.bbor.client.Camera;
+import com.irtimaled.bbor.common.models.Coords;
+import net.minecraft.client.renderer.culling.Frustum;
+
+public class FrustumCuller {
+    private static Frustum frustum;
+
+    public static void update() {
+        frustum = new Frustum();
+        frustum.setPosition(Camera.getX(), Camera.getY(), Camera.getZ());
+    }
+
+    static boolean isVisible(double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        return frustum == null || frustum.isBoxInFrustum(minX, minY, minZ, maxX, maxY, maxZ);
+    }
+
+    static boolean isVisible(Coords minCoords, Coords maxCoords) {
+        return isVisible(minCoords.getX(), minCoords.getY(), minCoords.getZ(),
+                maxCoords.getX() + 1, maxCoords.getY() + 1, maxCoords.getZ() + 1);
+    }
+
+    static boolean isVisible(int x, int y, int z) {
+        return isVisible(x, y, z, x + 1, y + 1, z + 1);
+    }
+
+    static boolean isVisible(double x, double y, double z, double radius) {
+        return isVisible(x - radius, y - radius, z - radius, x + radius, y + radius, z + radius);
+    }
+}
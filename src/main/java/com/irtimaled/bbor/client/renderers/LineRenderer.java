@@ -23,23 +23,17 @@ public class LineRenderer extends AbstractRenderer<BoundingBoxLine> {
                 map(point -> new OffsetPoint(point).offset(0, 0.001f, 0)).
                 toArray(OffsetPoint[]::new);
 
-        RenderHelper.polygonModeLine();
-        Renderer.startQuads()
+        Renderer.startLineLoop()
                 .setColor(color)
                 .addPoints(cornerPoints)
                 .render();
 
         if (!ConfigManager.fill.get()) return;
 
-        RenderHelper.polygonModeFill();
-        RenderHelper.enableBlend();
         Renderer.startQuads()
                 .setColor(color)
                 .setAlpha(30)
                 .addPoints(cornerPoints)
                 .render();
-        RenderHelper.disableBlend();
-        RenderHelper.enablePolygonOffsetLine();
-        RenderHelper.polygonOffsetMinusOne();
     }
 }
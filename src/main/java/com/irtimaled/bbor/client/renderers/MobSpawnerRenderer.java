@@ -27,6 +27,17 @@ public class MobSpawnerRenderer extends AbstractRenderer<BoundingBoxMobSpawner>
         }
     }
 
+    @Override
+    public boolean isVisible(BoundingBoxMobSpawner boundingBox) {
+        if (ConfigManager.renderMobSpawnerActivationLines.get()) return true;
+
+        if (ConfigManager.renderMobSpawnerSpawnArea.get()) {
+            return FrustumCuller.isVisible(boundingBox.getMinCoords(), boundingBox.getMaxCoords());
+        }
+        Coords coords = boundingBox.getCoords();
+        return FrustumCuller.isVisible(coords.getX(), coords.getY(), coords.getZ());
+    }
+
     private void renderActivationLine(OffsetPoint centerPoint) {
         OffsetPoint playerPos = new OffsetPoint(Player.getPoint());
         double distance = centerPoint.getDistance(playerPos);
@@ -1,43 +1,68 @@
 package com.irtimaled.bbor.client.renderers;
 
+import com.irtimaled.bbor.client.Camera;
+import com.irtimaled.bbor.client.models.Point;
 import com.irtimaled.bbor.common.models.Coords;
 
 class OffsetBox {
-    private final OffsetPoint min;
-    private final OffsetPoint max;
+    private final double minX;
+    private final double minY;
+    private final double minZ;
+    private final double maxX;
+    private final double maxY;
+    private final double maxZ;
 
     OffsetBox(Coords minCoords, Coords maxCoords) {
-        this.min = new OffsetPoint(minCoords);
-        this.max = new OffsetPoint(maxCoords).offset(1, 1, 1);
+        this(minCoords.getX(), minCoords.getY(), minCoords.getZ(),
+                maxCoords.getX() + 1, maxCoords.getY() + 1, maxCoords.getZ() + 1);
     }
 
     OffsetBox(double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
-        this.min = new OffsetPoint(minX, minY, minZ);
-        this.max = new OffsetPoint(maxX, maxY, maxZ);
+        this.minX = minX;
+        this.minY = minY;
+        this.minZ = minZ;
+        this.maxX = maxX;
+        this.maxY = maxY;
+        this.maxZ = maxZ;
     }
 
-    OffsetBox(OffsetPoint min, OffsetPoint max) {
-        this.min = min;
-        this.max = max;
+    OffsetBox(Point point) {
+        this(point.getX(), point.getY(), point.getZ(), point.getX(), point.getY(), point.getZ());
     }
 
     OffsetBox grow(double x, double y, double z) {
-        return new OffsetBox(min.offset(-x, -y, -z), max.offset(x, y, z));
+        return new OffsetBox(minX - x, minY - y, minZ - z, maxX + x, maxY + y, maxZ + z);
     }
 
     OffsetBox nudge() {
         double growXZ = 0.001F;
-        if (min.getY() == max.getY()) {
-            return new OffsetBox(min.offset(-growXZ, growXZ, -growXZ), max.offset(growXZ, growXZ, growXZ));
+        if (minY == maxY) {
+            return new OffsetBox(minX - growXZ, minY + growXZ, minZ - growXZ, maxX + growXZ, maxY + growXZ, maxZ + growXZ);
         }
         return grow(growXZ, growXZ, growXZ);
     }
 
-    OffsetPoint getMin() {
-        return min;
+    double getMinX() {
+        return minX - Camera.getX();
     }
 
-    OffsetPoint getMax() {
-        return max;
+    double getMinY() {
+        return minY - Camera.getY();
+    }
+
+    double getMinZ() {
+        return minZ - Camera.getZ();
+    }
+
+    double getMaxX() {
+        return maxX - Camera.getX();
+    }
+
+    double getMaxY() {
+        return maxY - Camera.getY();
+    }
+
+    double getMaxZ() {
+        return maxZ - Camera.getZ();
     }
 }
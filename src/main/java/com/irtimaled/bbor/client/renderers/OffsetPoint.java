@@ -5,37 +5,44 @@ import com.irtimaled.bbor.client.models.Point;
 import com.irtimaled.bbor.common.models.Coords;
 
 class OffsetPoint {
-    private final Point point;
+    private final double x;
+    private final double y;
+    private final double z;
 
     OffsetPoint(double x, double y, double z) {
-        this(new Point(x, y, z));
+        this.x = x;
+        this.y = y;
+        this.z = z;
     }
 
     OffsetPoint(Coords coords) {
-        this(new Point(coords));
+        this(coords.getX(), coords.getY(), coords.getZ());
     }
 
     OffsetPoint(Point point) {
-        this.point = point;
+        this(point.getX(), point.getY(), point.getZ());
     }
 
     double getX() {
-        return point.getX() - Camera.getX();
+        return x - Camera.getX();
     }
 
     double getY() {
-        return point.getY() - Camera.getY();
+        return y - Camera.getY();
     }
 
     double getZ() {
-        return point.getZ() - Camera.getZ();
+        return z - Camera.getZ();
     }
 
     OffsetPoint offset(double x, double y, double z) {
-        return new OffsetPoint(point.offset(x, y, z));
+        return new OffsetPoint(this.x + x, this.y + y, this.z + z);
     }
 
     double getDistance(OffsetPoint offsetPoint) {
-        return this.point.getDistance(offsetPoint.point);
+        double dx = this.x - offsetPoint.x;
+        double dy = this.y - offsetPoint.y;
+        double dz = this.z - offsetPoint.z;
+        return Math.sqrt(dx * dx + dy * dy + dz * dz);
     }
 }
@@ -0,0 +1,107 @@
+package com.irtimaled.bbor.client.renderers;
+
+import com.irtimaled.bbor.client.Camera;
+import net.minecraft.client.renderer.BufferBuilder;
+import net.minecraft.client.renderer.Tessellator;
+import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class RenderBatch {
+    static final RenderBatch lines = new RenderBatch(RenderHelper.LINES);
+    static final RenderBatch points = new RenderBatch(RenderHelper.POINTS);
+    static final RenderBatch quads = new RenderBatch(RenderHelper.QUADS);
+    private static final List<RetainedGeometry> retainedGeometries = new ArrayList<>();
+    private static final int VERTEX_SIZE = DefaultVertexFormats.POSITION_COLOR.getIntegerSize();
+
+    private final int glMode;
+    private final Tessellator tessellator = new Tessellator(2097152);
+    private boolean started;
+
+    private RenderBatch(int glMode) {
+        this.glMode = glMode;
+    }
+
+    BufferBuilder getBuffer() {
+        BufferBuilder bufferBuilder = tessellator.getBuffer();
+        if (!started) {
+            bufferBuilder.begin(glMode, DefaultVertexFormats.POSITION_COLOR);
+            started = true;
+        }
+        return bufferBuilder;
+    }
+
+    private void draw() {
+        tessellator.draw();
+        started = false;
+    }
+
+    private void drawRetained(RetainedGeometry geometry, int[] vertexData) {
+        if (vertexData.length == 0) return;
+
+        double cameraX = Camera.getX() - geometry.getOriginX();
+        double cameraY = Camera.getY();
+        double cameraZ = Camera.getZ() - geometry.getOriginZ();
+
+        getBuffer().addVertexData(vertexData);
+        RenderHelper.pushTranslation(-cameraX, -cameraY, -cameraZ);
+        draw();
+        RenderHelper.popTranslation();
+    }
+
+    // retained vertices are relative to the geometry origin, batched ones to the camera
+    private void addRelocated(RetainedGeometry geometry, int[] vertexData) {
+        if (vertexData.length == 0) return;
+
+        float offsetX = (float) (geometry.getOriginX() - Camera.getX());
+        float offsetY = (float) -Camera.getY();
+        float offsetZ = (float) (geometry.getOriginZ() - Camera.getZ());
+        int[] relocatedVertexData = new int[vertexData.length];
+        for (int index = 0; index < vertexData.length; index += VERTEX_SIZE) {
+            relocatedVertexData[index] = Float.floatToRawIntBits(Float.intBitsToFloat(vertexData[index]) + offsetX);
+            relocatedVertexData[index + 1] = Float.floatToRawIntBits(Float.intBitsToFloat(vertexData[index + 1]) + offsetY);
+            relocatedVertexData[index + 2] = Float.floatToRawIntBits(Float.intBitsToFloat(vertexData[index + 2]) + offsetZ);
+            System.arraycopy(vertexData, index + 3, relocatedVertexData, index + 3, VERTEX_SIZE - 3);
+        }
+        getBuffer().addVertexData(relocatedVertexData);
+    }
+
+    static void addRetained(RetainedGeometry geometry) {
+        retainedGeometries.add(geometry);
+    }
+
+    public static void flush() {
+        // text is drawn immediately and leaves its own GL state behind
+        RenderHelper.beforeRender();
+
+        if (lines.started) {
+            lines.draw();
+        }
+        for (RetainedGeometry geometry : retainedGeometries) {
+            lines.drawRetained(geometry, geometry.getLines());
+        }
+
+        if (points.started) {
+            RenderHelper.enablePointSmooth();
+            RenderHelper.pointSize5();
+            points.draw();
+        }
+
+        // all fills share one pass so they are depth ordered against each other
+        for (RetainedGeometry geometry : retainedGeometries) {
+            quads.addRelocated(geometry, geometry.getQuads());
+        }
+        RenderHelper.polygonModeFill();
+        RenderHelper.enableBlend();
+        if (quads.started) {
+            quads.getBuffer().sortVertexData(0, 0, 0);
+            quads.draw();
+        }
+        RenderHelper.disableBlend();
+        RenderHelper.enablePolygonOffsetLine();
+        RenderHelper.polygonOffsetMinusOne();
+
+        retainedGeometries.clear();
+    }
+}
@@ -53,6 +53,15 @@ public class RenderHelper {
         enableDepthTest();
     }
 
+    public static void pushTranslation(double x, double y, double z) {
+        GlStateManager.pushMatrix();
+        GlStateManager.translated(x, y, z);
+    }
+
+    public static void popTranslation() {
+        GlStateManager.popMatrix();
+    }
+
     public static void disableLighting() {
         GlStateManager.disableLighting();
     }
@@ -1,6 +1,5 @@
 package com.irtimaled.bbor.client.renderers;
 
-import com.irtimaled.bbor.client.Camera;
 import net.minecraft.client.renderer.BufferBuilder;
 import net.minecraft.client.renderer.Tessellator;
 import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
@@ -10,21 +9,23 @@ import java.awt.*;
 
 public class Renderer {
     private final int glMode;
+    private final BufferBuilder bufferBuilder;
+    private final boolean batched;
 
     static Renderer startLines() {
-        return new Renderer(RenderHelper.LINES, DefaultVertexFormats.POSITION_COLOR);
+        return new Renderer(RenderHelper.LINES, RenderBatch.lines);
     }
 
     static Renderer startLineLoop() {
-        return new Renderer(RenderHelper.LINE_LOOP, DefaultVertexFormats.POSITION_COLOR);
+        return new Renderer(RenderHelper.LINE_LOOP, RenderBatch.lines);
     }
 
     static Renderer startQuads() {
-        return new Renderer(RenderHelper.QUADS, DefaultVertexFormats.POSITION_COLOR);
+        return new Renderer(RenderHelper.QUADS, RenderBatch.quads);
     }
 
     static Renderer startPoints() {
-        return new Renderer(RenderHelper.POINTS, DefaultVertexFormats.POSITION_COLOR);
+        return new Renderer(RenderHelper.POINTS, RenderBatch.points);
     }
 
     public static Renderer startTextured() {
@@ -32,16 +33,35 @@ public class Renderer {
     }
 
     private static final Tessellator tessellator = new Tessellator(2097152);
-    private static final BufferBuilder bufferBuilder = tessellator.getBuffer();
 
     private int red;
     private int green;
     private int blue;
     private int alpha;
 
+    private int loopPoints;
+    private double firstX;
+    private double firstY;
+    private double firstZ;
+    private double lastX;
+    private double lastY;
+    private double lastZ;
+
     private Renderer(int glMode, VertexFormat vertexFormat) {
-        bufferBuilder.begin(glMode, vertexFormat);
+        this.bufferBuilder = tessellator.getBuffer();
+        this.bufferBuilder.begin(glMode, vertexFormat);
+        this.glMode = glMode;
+        this.batched = false;
+    }
+
+    private Renderer(int glMode, RenderBatch renderBatch) {
+        this(glMode, renderBatch.getBuffer());
+    }
+
+    Renderer(int glMode, BufferBuilder bufferBuilder) {
+        this.bufferBuilder = bufferBuilder;
         this.glMode = glMode;
+        this.batched = true;
     }
 
     public Renderer setColor(Color color) {
@@ -74,12 +94,39 @@ public class Renderer {
     }
 
     Renderer addPoint(double x, double y, double z) {
+        if (glMode == RenderHelper.LINE_LOOP) {
+            return addLoopPoint(x, y, z);
+        }
         pos(x, y, z);
         color();
         end();
         return this;
     }
 
+    private Renderer addLoopPoint(double x, double y, double z) {
+        if (loopPoints == 0) {
+            firstX = x;
+            firstY = y;
+            firstZ = z;
+        } else {
+            addLine(lastX, lastY, lastZ, x, y, z);
+        }
+        lastX = x;
+        lastY = y;
+        lastZ = z;
+        loopPoints++;
+        return this;
+    }
+
+    private void addLine(double startX, double startY, double startZ, double endX, double endY, double endZ) {
+        pos(startX, startY, startZ);
+        color();
+        end();
+        pos(endX, endY, endZ);
+        color();
+        end();
+    }
+
     public Renderer addPoint(double x, double y, double z, double u, double v) {
         pos(x, y, z);
         tex(u, v);
@@ -89,8 +136,16 @@ public class Renderer {
     }
 
     public void render() {
+        if (batched) {
+            if (loopPoints > 2) {
+                addLine(lastX, lastY, lastZ, firstX, firstY, firstZ);
+            }
+            return;
+        }
+
         if (glMode == RenderHelper.QUADS) {
-            bufferBuilder.sortVertexData((float) Camera.getX(), (float) Camera.getY(), (float) Camera.getZ());
+            // vertices are already relative to the camera
+            bufferBuilder.sortVertexData(0, 0, 0);
         }
         tessellator.draw();
     }
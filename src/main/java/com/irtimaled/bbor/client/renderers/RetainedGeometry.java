@@ -0,0 +1,41 @@
+package com.irtimaled.bbor.client.renderers;
+
+import java.awt.*;
+
+class RetainedGeometry {
+    private final int originX;
+    private final int originZ;
+    private final Color color;
+    private final boolean fill;
+    private final int[] lines;
+    private final int[] quads;
+
+    RetainedGeometry(int originX, int originZ, Color color, boolean fill, int[] lines, int[] quads) {
+        this.originX = originX;
+        this.originZ = originZ;
+        this.color = color;
+        this.fill = fill;
+        this.lines = lines;
+        this.quads = quads;
+    }
+
+    boolean isBuiltWith(Color color, boolean fill) {
+        return this.color.equals(color) && this.fill == fill;
+    }
+
+    int getOriginX() {
+        return originX;
+    }
+
+    int getOriginZ() {
+        return originZ;
+    }
+
+    int[] getLines() {
+        return lines;
+    }
+
+    int[] getQuads() {
+        return quads;
+    }
+}
@@ -4,22 +4,32 @@ import com.irtimaled.bbor.client.Player;
 import com.irtimaled.bbor.client.config.BoundingBoxTypeHelper;
 import com.irtimaled.bbor.client.config.ConfigManager;
 import com.irtimaled.bbor.client.models.BoundingBoxSlimeChunk;
+import com.irtimaled.bbor.common.models.Coords;
 
 import java.awt.*;
 
 public class SlimeChunkRenderer extends AbstractRenderer<BoundingBoxSlimeChunk> {
     @Override
     public void render(BoundingBoxSlimeChunk boundingBox) {
-        OffsetBox bb = new OffsetBox(boundingBox.getMinCoords(), boundingBox.getMaxCoords());
+        Coords minCoords = boundingBox.getMinCoords();
+        Coords maxCoords = boundingBox.getMaxCoords();
         Color color = BoundingBoxTypeHelper.getColor(boundingBox.getType());
-        renderCuboid(bb, color);
+        renderCuboid(new OffsetBox(minCoords, maxCoords), color);
 
         double maxY = Player.getMaxY(ConfigManager.slimeChunkMaxY.get());
         double dY = maxY - 39;
         if (dY > 0) {
-            OffsetPoint min = bb.getMin().offset(0, 38, 0);
-            OffsetPoint max = bb.getMax().offset(0, dY, 0);
-            renderCuboid(new OffsetBox(min, max), color);
+            renderCuboid(new OffsetBox(minCoords.getX(), minCoords.getY() + 38, minCoords.getZ(),
+                    maxCoords.getX() + 1, maxCoords.getY() + 1 + dY, maxCoords.getZ() + 1), color);
         }
     }
+
+    @Override
+    public boolean isVisible(BoundingBoxSlimeChunk boundingBox) {
+        Coords minCoords = boundingBox.getMinCoords();
+        Coords maxCoords = boundingBox.getMaxCoords();
+        double maxY = Math.max(maxCoords.getY() + 1, Player.getMaxY(ConfigManager.slimeChunkMaxY.get()));
+        return FrustumCuller.isVisible(minCoords.getX(), minCoords.getY(), minCoords.getZ(),
+                maxCoords.getX() + 1, maxY, maxCoords.getZ() + 1);
+    }
 }
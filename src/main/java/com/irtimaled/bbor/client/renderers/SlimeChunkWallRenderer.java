@@ -0,0 +1,48 @@
+package com.irtimaled.bbor.client.renderers;
+
+import com.irtimaled.bbor.client.Player;
+import com.irtimaled.bbor.client.config.BoundingBoxTypeHelper;
+import com.irtimaled.bbor.client.config.ConfigManager;
+import com.irtimaled.bbor.client.models.BoundingBoxSlimeChunkWall;
+import com.irtimaled.bbor.common.models.Coords;
+
+import java.awt.*;
+
+public class SlimeChunkWallRenderer extends AbstractRenderer<BoundingBoxSlimeChunkWall> {
+    @Override
+    public void render(BoundingBoxSlimeChunkWall boundingBox) {
+        Coords start = boundingBox.getStart();
+        Coords end = boundingBox.getEnd();
+        Color color = BoundingBoxTypeHelper.getColor(boundingBox.getType());
+
+        OffsetPoint bottom1 = new OffsetPoint(start);
+        OffsetPoint bottom2 = new OffsetPoint(end.getX(), start.getY(), end.getZ());
+        OffsetPoint top1 = new OffsetPoint(start.getX(), end.getY(), start.getZ());
+        OffsetPoint top2 = new OffsetPoint(end);
+        renderWall(bottom1, bottom2, top1, top2, color);
+
+        double maxY = Player.getMaxY(ConfigManager.slimeChunkMaxY.get());
+        if (maxY > end.getY()) {
+            renderWall(top1, top2,
+                    new OffsetPoint(start.getX(), maxY, start.getZ()),
+                    new OffsetPoint(end.getX(), maxY, end.getZ()),
+                    color);
+        }
+    }
+
+    private void renderWall(OffsetPoint bottom1, OffsetPoint bottom2, OffsetPoint top1, OffsetPoint top2, Color color) {
+        renderLine(bottom1, bottom2, color);
+        renderLine(top1, top2, color);
+        renderLine(bottom1, top1, color);
+        renderLine(bottom2, top2, color);
+        renderFilledFaces(bottom1, top2, color);
+    }
+
+    @Override
+    public boolean isVisible(BoundingBoxSlimeChunkWall boundingBox) {
+        Coords start = boundingBox.getStart();
+        Coords end = boundingBox.getEnd();
+        double maxY = Math.max(end.getY(), Player.getMaxY(ConfigManager.slimeChunkMaxY.get()));
+        return FrustumCuller.isVisible(start.getX(), start.getY(), start.getZ(), end.getX(), maxY, end.getZ());
+    }
+}
@@ -0,0 +1,86 @@
+package com.irtimaled.bbor.client.renderers;
+
+import net.minecraft.util.math.BlockPos;
+
+import java.util.*;
+
+class SpawnableBlocksMesh {
+    private Set<BlockPos> blocks;
+    private int size;
+    private int[] rectangles = new int[0];
+
+    int[] getRectangles(Set<BlockPos> blocks) {
+        int size = blocks.size();
+        if (blocks != this.blocks || size != this.size) {
+            this.blocks = blocks;
+            this.size = size;
+            this.rectangles = build(blocks);
+        }
+        return rectangles;
+    }
+
+    private static int[] build(Set<BlockPos> blocks) {
+        Map<Integer, List<BlockPos>> layers = new HashMap<>();
+        for (BlockPos pos : blocks) {
+            layers.computeIfAbsent(pos.getY(), y -> new ArrayList<>()).add(pos);
+        }
+
+        int[] rectangles = new int[blocks.size() * 5];
+        int count = 0;
+        for (Map.Entry<Integer, List<BlockPos>> layer : layers.entrySet()) {
+            count = mergeLayer(layer.getKey(), layer.getValue(), rectangles, count);
+        }
+        return Arrays.copyOf(rectangles, count);
+    }
+
+    private static int mergeLayer(int y, List<BlockPos> positions, int[] rectangles, int count) {
+        int minX = Integer.MAX_VALUE;
+        int minZ = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE;
+        int maxZ = Integer.MIN_VALUE;
+        for (BlockPos pos : positions) {
+            minX = Math.min(minX, pos.getX());
+            minZ = Math.min(minZ, pos.getZ());
+            maxX = Math.max(maxX, pos.getX());
+            maxZ = Math.max(maxZ, pos.getZ());
+        }
+
+        int width = maxX - minX + 1;
+        int depth = maxZ - minZ + 1;
+        boolean[] cells = new boolean[width * depth];
+        for (BlockPos pos : positions) {
+            cells[(pos.getZ() - minZ) * width + pos.getX() - minX] = true;
+        }
+
+        for (int z = 0; z < depth; z++) {
+            for (int x = 0; x < width; x++) {
+                if (!cells[z * width + x]) continue;
+
+                int runWidth = 1;
+                while (x + runWidth < width && cells[z * width + x + runWidth]) runWidth++;
+
+                int runDepth = 1;
+                while (z + runDepth < depth && isRowSet(cells, width, x, z + runDepth, runWidth)) runDepth++;
+
+                for (int dz = 0; dz < runDepth; dz++) {
+                    Arrays.fill(cells, (z + dz) * width + x, (z + dz) * width + x + runWidth, false);
+                }
+
+                rectangles[count++] = minX + x;
+                rectangles[count++] = y;
+                rectangles[count++] = minZ + z;
+                rectangles[count++] = minX + x + runWidth;
+                rectangles[count++] = minZ + z + runDepth;
+            }
+        }
+        return count;
+    }
+
+    private static boolean isRowSet(boolean[] cells, int width, int x, int z, int runWidth) {
+        int start = z * width + x;
+        for (int index = start; index < start + runWidth; index++) {
+            if (!cells[index]) return false;
+        }
+        return true;
+    }
+}
@@ -12,6 +12,8 @@ import net.minecraft.client.resources.I18n;
 import java.awt.*;
 
 public class SpawningSphereRenderer extends AbstractRenderer<BoundingBoxSpawningSphere> {
+    private final SpawnableBlocksMesh mesh = new SpawnableBlocksMesh();
+
     @Override
     public void render(BoundingBoxSpawningSphere boundingBox) {
         Point point = boundingBox.getPoint();
@@ -22,7 +24,7 @@ public class SpawningSphereRenderer extends AbstractRenderer<BoundingBoxSpawning
 
         renderOuterSphere(boundingBox, point);
 
-        OffsetBox offsetBox = new OffsetBox(sphereCenter, sphereCenter).grow(0.5, 0, 0.5);
+        OffsetBox offsetBox = new OffsetBox(point).grow(0.5, 0, 0.5);
         renderCuboid(offsetBox, safeAreaColor);
 
         Integer spawnableSpacesCount = boundingBox.getSpawnableSpacesCount();
@@ -32,13 +34,18 @@ public class SpawningSphereRenderer extends AbstractRenderer<BoundingBoxSpawning
                             I18n.format("bbor.renderer.spawningSphere.none") :
                             String.format("%,d", spawnableSpacesCount));
         }
-        renderSphere(point, BoundingBoxSpawningSphere.SAFE_RADIUS, safeAreaColor);
 
         if (ConfigManager.renderAFKSpawnableBlocks.get() && boundingBox.isWithinSphere(Player.getPoint())) {
             renderSpawnableSpaces(boundingBox);
         }
     }
 
+    @Override
+    public boolean isVisible(BoundingBoxSpawningSphere boundingBox) {
+        Point point = boundingBox.getPoint();
+        return FrustumCuller.isVisible(point.getX(), point.getY(), point.getZ(), BoundingBoxSpawningSphere.SPAWN_RADIUS + 1);
+    }
+
     private void renderOuterSphere(BoundingBoxSpawningSphere boundingBox, Point point) {
         Color color = BoundingBoxTypeHelper.getColor(boundingBox.getType());
         renderSphere(point, BoundingBoxSpawningSphere.SPAWN_RADIUS, color);
@@ -46,12 +53,6 @@ public class SpawningSphereRenderer extends AbstractRenderer<BoundingBoxSpawning
 
     private void renderSpawnableSpaces(BoundingBoxSpawningSphere boundingBox) {
         Color color = BoundingBoxTypeHelper.getColor(BoundingBoxType.SpawnableBlocks);
-        boundingBox.getBlocks().forEach(c -> {
-            int x = c.getX();
-            int y = c.getY();
-            int z = c.getZ();
-            OffsetBox offsetBox = new OffsetBox(x, y, z, x + 1, y, z + 1);
-            renderCuboid(offsetBox, color);
-        });
+        renderSpawnableBlocks(boundingBox.getBlocks(), mesh, color);
     }
 }
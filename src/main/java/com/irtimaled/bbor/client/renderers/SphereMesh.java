@@ -0,0 +1,140 @@
+package com.irtimaled.bbor.client.renderers;
+
+import com.irtimaled.bbor.common.MathHelper;
+import com.irtimaled.bbor.common.TypeHelper;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+class SphereMesh {
+    private static final double TAU = 6.283185307179586D;
+    private static final double PI = TAU / 2D;
+    private static final int MAX_CACHED_MESHES = 32;
+
+    private static final double[] unitCircle = buildUnitCircle();
+    private static final double[] unitSphere = buildUnitSphere();
+
+    private static final Map<Key, SphereMesh> meshes = new LinkedHashMap<Key, SphereMesh>(16, 0.75F, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, SphereMesh> eldest) {
+            return size() > MAX_CACHED_MESHES;
+        }
+    };
+
+    private final double[] vertices;
+
+    private SphereMesh(double[] vertices) {
+        this.vertices = vertices;
+    }
+
+    static SphereMesh get(double radius, double yOffset, boolean dots) {
+        Key key = new Key(radius, dots ? 0 : yOffset, dots);
+        SphereMesh mesh = meshes.get(key);
+        if (mesh == null) {
+            mesh = dots ? buildDots(radius) : buildLines(radius, yOffset);
+            meshes.put(key, mesh);
+        }
+        return mesh;
+    }
+
+    void addTo(Renderer renderer, double x, double y, double z) {
+        for (int index = 0; index < vertices.length; index += 3) {
+            renderer.addPoint(x + vertices[index], y + vertices[index + 1], z + vertices[index + 2]);
+        }
+    }
+
+    private static double[] buildUnitCircle() {
+        int count = 0;
+        for (double phi = 0.0D; phi < TAU; phi += AbstractRenderer.PHI_SEGMENT) count++;
+
+        double[] points = new double[count * 2];
+        int index = 0;
+        for (double phi = 0.0D; phi < TAU; phi += AbstractRenderer.PHI_SEGMENT) {
+            points[index++] = Math.cos(phi);
+            points[index++] = Math.sin(phi);
+        }
+        return points;
+    }
+
+    private static double[] buildUnitSphere() {
+        int count = 0;
+        for (double phi = 0.0D; phi < TAU; phi += AbstractRenderer.PHI_SEGMENT) {
+            for (double theta = 0.0D; theta < PI; theta += AbstractRenderer.THETA_SEGMENT) count++;
+        }
+
+        double[] points = new double[count * 3];
+        int index = 0;
+        for (double phi = 0.0D; phi < TAU; phi += AbstractRenderer.PHI_SEGMENT) {
+            double dy = Math.cos(phi);
+            double sinPhi = Math.sin(phi);
+            for (double theta = 0.0D; theta < PI; theta += AbstractRenderer.THETA_SEGMENT) {
+                points[index++] = sinPhi * Math.cos(theta);
+                points[index++] = dy;
+                points[index++] = sinPhi * Math.sin(theta);
+            }
+        }
+        return points;
+    }
+
+    private static SphereMesh buildDots(double radius) {
+        double[] vertices = new double[unitSphere.length];
+        for (int index = 0; index < unitSphere.length; index++) {
+            vertices[index] = unitSphere[index] * radius;
+        }
+        return new SphereMesh(vertices);
+    }
+
+    private static SphereMesh buildLines(double radius, double yOffset) {
+        int dyStep = radius < 64 ? 1 : MathHelper.floor(radius / 32);
+        int rings = 0;
+        for (double dy = yOffset - radius; dy <= radius + 1; dy += dyStep) {
+            if (dy * dy <= radius * radius) rings++;
+        }
+
+        int circlePoints = unitCircle.length / 2;
+        double[] vertices = new double[rings * circlePoints * 6];
+        int index = 0;
+        for (double dy = yOffset - radius; dy <= radius + 1; dy += dyStep) {
+            if (dy * dy > radius * radius) continue;
+
+            double circleRadius = Math.sqrt((radius * radius) - (dy * dy));
+            if (circleRadius == 0) circleRadius = Math.sqrt(2) / 2;
+            double y = dy + 0.001F;
+            for (int point = 0; point < circlePoints; point++) {
+                int next = (point + 1) % circlePoints;
+                vertices[index++] = unitCircle[point * 2] * circleRadius;
+                vertices[index++] = y;
+                vertices[index++] = unitCircle[point * 2 + 1] * circleRadius;
+                vertices[index++] = unitCircle[next * 2] * circleRadius;
+                vertices[index++] = y;
+                vertices[index++] = unitCircle[next * 2 + 1] * circleRadius;
+            }
+        }
+        return new SphereMesh(vertices);
+    }
+
+    private static class Key {
+        private final double radius;
+        private final double yOffset;
+        private final boolean dots;
+
+        private Key(double radius, double yOffset, boolean dots) {
+            this.radius = radius;
+            this.yOffset = yOffset;
+            this.dots = dots;
+        }
+
+        @Override
+        public int hashCode() {
+            return TypeHelper.combineHashCodes(Double.hashCode(radius), Double.hashCode(yOffset), Boolean.hashCode(dots));
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (obj == null || getClass() != obj.getClass()) return false;
+            Key other = (Key) obj;
+            return radius == other.radius && yOffset == other.yOffset && dots == other.dots;
+        }
+    }
+}
@@ -11,4 +11,10 @@ public class SphereRenderer extends AbstractRenderer<BoundingBoxSphere> {
         double radius = boundingBox.getRadius();
         renderSphere(point, radius, BoundingBoxTypeHelper.getColor(boundingBox.getType()));
     }
+
+    @Override
+    public boolean isVisible(BoundingBoxSphere boundingBox) {
+        Point point = boundingBox.getPoint();
+        return FrustumCuller.isVisible(point.getX(), point.getY(), point.getZ(), boundingBox.getRadius() + 1);
+    }
 }
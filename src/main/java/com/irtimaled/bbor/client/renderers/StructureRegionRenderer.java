@@ -0,0 +1,78 @@
+package com.irtimaled.bbor.client.renderers;
+
+import com.irtimaled.bbor.client.config.BoundingBoxTypeHelper;
+import com.irtimaled.bbor.client.config.ConfigManager;
+import com.irtimaled.bbor.client.models.BoundingBoxStructureRegion;
+import com.irtimaled.bbor.common.models.BoundingBoxCuboid;
+import com.irtimaled.bbor.common.models.Coords;
+import net.minecraft.client.renderer.BufferBuilder;
+import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
+
+import java.awt.*;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+public class StructureRegionRenderer extends AbstractRenderer<BoundingBoxStructureRegion> {
+    private static final double NUDGE = 0.001F;
+    private static final BufferBuilder bufferBuilder = new BufferBuilder(262144);
+
+    private final Map<BoundingBoxStructureRegion, RetainedGeometry> geometries = new WeakHashMap<>();
+
+    @Override
+    public void render(BoundingBoxStructureRegion region) {
+        Color color = BoundingBoxTypeHelper.getColor(region.getType());
+        if (ConfigManager.invertBoxColorPlayerInside.get()) {
+            for (BoundingBoxCuboid boundingBox : region.getBoundingBoxes()) {
+                if (!FrustumCuller.isVisible(boundingBox.getMinCoords(), boundingBox.getMaxCoords())) continue;
+
+                renderCuboid(new OffsetBox(boundingBox.getMinCoords(), boundingBox.getMaxCoords()), color);
+            }
+            return;
+        }
+
+        boolean fill = ConfigManager.fill.get();
+        RetainedGeometry geometry = geometries.get(region);
+        if (geometry == null || !geometry.isBuiltWith(color, fill)) {
+            geometry = buildGeometry(region, color, fill);
+            geometries.put(region, geometry);
+        }
+        RenderBatch.addRetained(geometry);
+    }
+
+    @Override
+    public boolean isVisible(BoundingBoxStructureRegion region) {
+        return FrustumCuller.isVisible(region.getMinCoords(), region.getMaxCoords());
+    }
+
+    private RetainedGeometry buildGeometry(BoundingBoxStructureRegion region, Color color, boolean fill) {
+        int originX = region.getOriginX();
+        int originZ = region.getOriginZ();
+        int[] lines = buildVertexData(RenderHelper.LINES, region, color, 255);
+        int[] quads = fill ? buildVertexData(RenderHelper.QUADS, region, color, 30) : new int[0];
+        return new RetainedGeometry(originX, originZ, color, fill, lines, quads);
+    }
+
+    private int[] buildVertexData(int glMode, BoundingBoxStructureRegion region, Color color, int alpha) {
+        int originX = region.getOriginX();
+        int originZ = region.getOriginZ();
+
+        bufferBuilder.begin(glMode, DefaultVertexFormats.POSITION_COLOR);
+        for (BoundingBoxCuboid boundingBox : region.getBoundingBoxes()) {
+            Coords minCoords = boundingBox.getMinCoords();
+            Coords maxCoords = boundingBox.getMaxCoords();
+            buildFaces(minCoords.getX() - originX - NUDGE,
+                    minCoords.getY() - NUDGE,
+                    minCoords.getZ() - originZ - NUDGE,
+                    maxCoords.getX() + 1 - originX + NUDGE,
+                    maxCoords.getY() + 1 + NUDGE,
+                    maxCoords.getZ() + 1 - originZ + NUDGE,
+                    color, alpha, () -> new Renderer(glMode, bufferBuilder));
+        }
+        bufferBuilder.finishDrawing();
+
+        int[] vertexData = new int[bufferBuilder.getVertexCount() * DefaultVertexFormats.POSITION_COLOR.getIntegerSize()];
+        bufferBuilder.getByteBuffer().asIntBuffer().get(vertexData);
+        bufferBuilder.reset();
+        return vertexData;
+    }
+}
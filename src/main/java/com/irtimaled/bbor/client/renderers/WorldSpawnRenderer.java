@@ -17,4 +17,12 @@ public class WorldSpawnRenderer extends AbstractRenderer<BoundingBoxWorldSpawn>
         OffsetBox offsetBox = new OffsetBox(minCoords.getX(), y, minCoords.getZ(), maxCoords.getX(), y, maxCoords.getZ());
         renderOutlinedCuboid(offsetBox.nudge(), BoundingBoxTypeHelper.getColor(boundingBox.getType()));
     }
+
+    @Override
+    public boolean isVisible(BoundingBoxWorldSpawn boundingBox) {
+        Coords minCoords = boundingBox.getMinCoords();
+        Coords maxCoords = boundingBox.getMaxCoords();
+        double y = Player.getMaxY(ConfigManager.worldSpawnMaxY.get());
+        return FrustumCuller.isVisible(minCoords.getX(), y, minCoords.getZ(), maxCoords.getX() + 1, y, maxCoords.getZ() + 1);
+    }
 }
@@ -1,13 +1,21 @@
 package com.irtimaled.bbor.common;
 
 import com.irtimaled.bbor.common.models.AbstractBoundingBox;
+import com.irtimaled.bbor.common.models.BoundingBoxCuboid;
+import com.irtimaled.bbor.common.models.Coords;
 
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 public class BoundingBoxCache {
+    private static final int CELL_SHIFT = 8;
+
     private final Map<AbstractBoundingBox, Set<AbstractBoundingBox>> cache = new ConcurrentHashMap<>();
+    private final Map<Long, Cell> cells = new ConcurrentHashMap<>();
+    private final Cell unboundedCell = new Cell(0, 0);
+    private volatile int maxCuboidSize;
 
     public Map<AbstractBoundingBox, Set<AbstractBoundingBox>> getBoundingBoxes() {
         return cache;
@@ -15,6 +23,8 @@ public class BoundingBoxCache {
 
     void clear() {
         cache.clear();
+        cells.clear();
+        unboundedCell.clear();
     }
 
     public boolean isCached(AbstractBoundingBox key) {
@@ -23,5 +33,77 @@ public class BoundingBoxCache {
 
     public void addBoundingBoxes(AbstractBoundingBox key, Set<AbstractBoundingBox> boundingBoxes) {
         cache.put(key, boundingBoxes);
+        getCell(key).add(key);
+    }
+
+    private Cell getCell(AbstractBoundingBox key) {
+        BoundingBoxCuboid cuboid = TypeHelper.as(key, BoundingBoxCuboid.class);
+        if (cuboid == null) return unboundedCell;
+
+        Coords minCoords = cuboid.getMinCoords();
+        Coords maxCoords = cuboid.getMaxCoords();
+        int size = Math.max(maxCoords.getX() - minCoords.getX(), maxCoords.getZ() - minCoords.getZ());
+        if (size > maxCuboidSize) maxCuboidSize = size;
+
+        int cellX = minCoords.getX() >> CELL_SHIFT;
+        int cellZ = minCoords.getZ() >> CELL_SHIFT;
+        return cells.computeIfAbsent(getCellKey(cellX, cellZ),
+                k -> new Cell(cellX << CELL_SHIFT, cellZ << CELL_SHIFT));
+    }
+
+    private static long getCellKey(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xffffffffL);
+    }
+
+    public void forEachCellWithin(int minX, int minZ, int maxX, int maxZ, Consumer<Cell> consumer) {
+        int minCellX = (minX - maxCuboidSize) >> CELL_SHIFT;
+        int minCellZ = (minZ - maxCuboidSize) >> CELL_SHIFT;
+        int maxCellX = maxX >> CELL_SHIFT;
+        int maxCellZ = maxZ >> CELL_SHIFT;
+        for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+            for (int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++) {
+                Cell cell = cells.get(getCellKey(cellX, cellZ));
+                if (cell != null) consumer.accept(cell);
+            }
+        }
+        if (!unboundedCell.keysByType.isEmpty()) consumer.accept(unboundedCell);
+    }
+
+    public static class Cell {
+        private final int originX;
+        private final int originZ;
+        private final Map<BoundingBoxType, Set<AbstractBoundingBox>> keysByType = new ConcurrentHashMap<>();
+        private volatile int version;
+
+        private Cell(int originX, int originZ) {
+            this.originX = originX;
+            this.originZ = originZ;
+        }
+
+        private void add(AbstractBoundingBox key) {
+            keysByType.computeIfAbsent(key.getType(), t -> ConcurrentHashMap.newKeySet()).add(key);
+            version++;
+        }
+
+        private void clear() {
+            keysByType.clear();
+            version++;
+        }
+
+        public int getOriginX() {
+            return originX;
+        }
+
+        public int getOriginZ() {
+            return originZ;
+        }
+
+        public int getVersion() {
+            return version;
+        }
+
+        public Map<BoundingBoxType, Set<AbstractBoundingBox>> getKeysByType() {
+            return keysByType;
+        }
     }
 }
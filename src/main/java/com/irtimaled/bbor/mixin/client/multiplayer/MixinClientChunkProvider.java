@@ -0,0 +1,16 @@
+package com.irtimaled.bbor.mixin.client.multiplayer;
+
+import com.irtimaled.bbor.client.interop.ClientInterop;
+import net.minecraft.client.multiplayer.ClientChunkProvider;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(ClientChunkProvider.class)
+public class MixinClientChunkProvider {
+    @Inject(method = "unloadChunk", at = @At("RETURN"))
+    private void unloadChunk(int x, int z, CallbackInfo ci) {
+        ClientInterop.unloadedChunk(x, z);
+    }
+}
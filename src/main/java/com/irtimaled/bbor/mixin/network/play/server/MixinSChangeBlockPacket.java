@@ -0,0 +1,21 @@
+package com.irtimaled.bbor.mixin.network.play.server;
+
+import com.irtimaled.bbor.client.interop.ClientInterop;
+import net.minecraft.network.play.server.SChangeBlockPacket;
+import net.minecraft.util.math.BlockPos;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(SChangeBlockPacket.class)
+public abstract class MixinSChangeBlockPacket {
+    @Shadow
+    private BlockPos pos;
+
+    @Inject(method = "processPacket", at = @At("RETURN"))
+    private void afterProcessPacket(CallbackInfo ci) {
+        ClientInterop.blockChanged(pos);
+    }
+}
@@ -0,0 +1,28 @@
+package com.irtimaled.bbor.mixin.network.play.server;
+
+import com.irtimaled.bbor.client.interop.ClientInterop;
+import net.minecraft.network.play.server.SMultiBlockChangePacket;
+import net.minecraft.util.math.ChunkPos;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(SMultiBlockChangePacket.class)
+public abstract class MixinSMultiBlockChangePacket {
+    @Shadow
+    private ChunkPos chunkPos;
+
+    @Shadow
+    private SMultiBlockChangePacket.UpdateData[] changedBlocks;
+
+    @Inject(method = "processPacket", at = @At("RETURN"))
+    private void afterProcessPacket(CallbackInfo ci) {
+        int sectionMask = 0;
+        for (SMultiBlockChangePacket.UpdateData changedBlock : changedBlocks) {
+            sectionMask |= 1 << (changedBlock.getPos().getY() >> 4);
+        }
+        ClientInterop.chunkSectionsChanged(chunkPos.x, chunkPos.z, sectionMask);
+    }
+}
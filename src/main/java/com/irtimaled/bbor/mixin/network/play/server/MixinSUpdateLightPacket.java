@@ -0,0 +1,30 @@
+package com.irtimaled.bbor.mixin.network.play.server;
+
+import com.irtimaled.bbor.client.interop.ClientInterop;
+import net.minecraft.network.play.server.SUpdateLightPacket;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(SUpdateLightPacket.class)
+public abstract class MixinSUpdateLightPacket {
+    @Shadow
+    private int chunkX;
+
+    @Shadow
+    private int chunkZ;
+
+    @Shadow
+    private int blockLightUpdateMask;
+
+    @Shadow
+    private int blockLightResetMask;
+
+    @Inject(method = "processPacket", at = @At("RETURN"))
+    private void afterProcessPacket(CallbackInfo ci) {
+        // light masks include the sections below and above the world
+        ClientInterop.chunkSectionsChanged(chunkX, chunkZ, (blockLightUpdateMask | blockLightResetMask) >> 1);
+    }
+}
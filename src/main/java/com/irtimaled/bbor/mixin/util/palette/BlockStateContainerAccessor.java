@@ -0,0 +1,16 @@
+package com.irtimaled.bbor.mixin.util.palette;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.util.palette.BlockStateContainer;
+import net.minecraft.util.palette.IPalette;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Accessor;
+
+@Mixin(BlockStateContainer.class)
+public interface BlockStateContainerAccessor {
+    @Accessor
+    IPalette<BlockState> getPalette();
+
+    @Accessor
+    int getBits();
+}